@@ -16,14 +16,36 @@
 
 package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageBuilder;
+import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextStorage;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.context.propagation.TextMapPropagator;
 import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
@@ -31,15 +53,33 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import reactor.core.publisher.Flux;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.cloud.sleuth.BaggageInScope;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.cloud.sleuth.ScopedSpan;
 import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.TraceContext;
 import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.cloud.sleuth.autoconfig.brave.BraveAutoConfiguration;
 import org.springframework.cloud.sleuth.autoconfig.otel.OtelAutoConfiguration;
 import org.springframework.cloud.sleuth.benchmarks.jmh.TracerImplementation;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
+import org.springframework.cloud.sleuth.otel.bridge.EventPublishingContextWrapper;
+import org.springframework.cloud.sleuth.otel.bridge.OtelBaggageManager;
+import org.springframework.cloud.sleuth.otel.bridge.OtelCurrentTraceContext;
+import org.springframework.cloud.sleuth.otel.bridge.OtelPropagator;
+import org.springframework.cloud.sleuth.otel.bridge.ScopeListener;
+import org.springframework.cloud.sleuth.otel.bridge.Slf4jApplicationListener;
+import org.springframework.cloud.sleuth.otel.bridge.Slf4jBaggageApplicationListener;
+import org.springframework.cloud.sleuth.otel.log.ContextLogCorrelation;
+import org.springframework.cloud.sleuth.otel.log.SpanIdConverter;
+import org.springframework.cloud.sleuth.otel.log.TraceIdConverter;
+import org.springframework.cloud.sleuth.propagation.Propagator;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Configuration;
 
@@ -90,6 +130,227 @@ public class BridgeTests {
 		}
 	}
 
+	/**
+	 * Fluent mutators return the very same span. Run with {@code -prof gc} and check
+	 * {@code gc.alloc.rate.norm}, the bridge must not add any bytes per call.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Span should_tag_span(SampledBenchmarkContext context) {
+		return context.parent.tag("http.route", "/benchmark");
+	}
+
+	/**
+	 * Handlers and parsers ask the same span for its context several times. Run with
+	 * {@code -prof gc}, only the first call may allocate.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public TraceContext should_retrieve_span_context(SampledBenchmarkContext context) {
+		Span span = context.parent;
+		span.context();
+		span.context();
+		return span.context();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public TraceContext should_retrieve_scoped_span_context(SampledBenchmarkContext context) {
+		ScopedSpan span = context.tracer.startScopedSpan("scoped");
+		try {
+			span.context();
+			span.context();
+			return span.context();
+		}
+		finally {
+			span.end();
+		}
+	}
+
+	/**
+	 * Parent id is part of the default log pattern, so it is read on every log line. Its
+	 * cost must not depend on the number of attributes of the span.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public String should_retrieve_parent_id_of_span_with_100_attributes(SampledBenchmarkContext context) {
+		return context.childWithAttributes.context().parentId();
+	}
+
+	/**
+	 * Creating a child of an explicit parent must not switch the thread's scope, so no
+	 * scope events get published. See the {@code scopeEvents} counter.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public void should_create_next_span_with_parent_without_scope_events(SampledBenchmarkContext context,
+			ScopeEventCounters counters) {
+		long before = context.scopeEvents.sum();
+		Span span = context.tracer.nextSpan(context.parent).start();
+		span.end();
+		counters.scopeEvents += context.scopeEvents.sum() - before;
+	}
+
+	/**
+	 * Every operator of a reactive chain re-attaches the captured trace context and
+	 * captures it again. The time per operator must be the same for a short and a long
+	 * chain.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	@OperationsPerInvocation(10)
+	public TraceContext should_propagate_context_through_10_operators(SampledBenchmarkContext context) {
+		return context.flux10.blockLast();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	@OperationsPerInvocation(50)
+	public TraceContext should_propagate_context_through_50_operators(SampledBenchmarkContext context) {
+		return context.flux50.blockLast();
+	}
+
+	/**
+	 * Submits tasks to a wrapped executor that runs them on the calling thread, so that
+	 * only the cost of capturing and restoring the context is measured. The throughput
+	 * has to stay well above 1M tasks per second, both with a span in scope and without
+	 * any context.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public void should_execute_task_with_span_in_scope(SampledBenchmarkContext context, SpanInScope inScope) {
+		context.wrappedExecutor.execute(context.task);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public void should_execute_task_without_context(SampledBenchmarkContext context) {
+		context.wrappedExecutor.execute(context.task);
+	}
+
+	/**
+	 * With a low sampling ratio most spans are children of an unsampled parent. Building
+	 * them must cost a fraction of building a sampled span, compare with
+	 * {@link #should_build_child_of_sampled_parent}.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Span should_build_child_of_unsampled_parent(SampledBenchmarkContext context) {
+		return buildChild(context.tracer, context.unsampledParent);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Span should_build_child_of_sampled_parent(SampledBenchmarkContext context) {
+		return buildChild(context.tracer, context.parent);
+	}
+
+	private static Span buildChild(Tracer tracer, Span parent) {
+		Span span = tracer.spanBuilder().setParent(parent.context()).name("child").kind(Span.Kind.CLIENT)
+				.tag("http.method", "GET").tag("http.route", "/benchmark").event("sent").start();
+		span.end();
+		return span;
+	}
+
+	/**
+	 * The builder must not allocate anything for tags and events that never get set. Run
+	 * with {@code -prof gc} and compare {@code gc.alloc.rate.norm}.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Span should_build_span_with_empty_builder(SampledBenchmarkContext context) {
+		Span span = context.tracer.spanBuilder().start();
+		span.end();
+		return span;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Span should_build_span_with_one_tag(SampledBenchmarkContext context) {
+		Span span = context.tracer.spanBuilder().tag("http.route", "/benchmark").start();
+		span.end();
+		return span;
+	}
+
+	/**
+	 * Looks up the last baggage entry by a name in a different case than it was stored
+	 * with. Repeated lookups against the same baggage must not copy its entries.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public BaggageInScope should_get_baggage_by_name(BaggageContext context) {
+		return context.baggageManager.getBaggage(context.name);
+	}
+
+	/**
+	 * Baseline for
+	 * {@link #should_attach_context_to_wrapped_storage(ContextStorageContext)}.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Context should_attach_context_to_raw_storage(ContextStorageContext context) {
+		try (io.opentelemetry.context.Scope scope = context.raw.attach(context.context)) {
+			return context.raw.current();
+		}
+	}
+
+	/**
+	 * With no scope listeners the wrapper must cost nothing over the raw storage.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Context should_attach_context_to_wrapped_storage(ContextStorageContext context) {
+		try (io.opentelemetry.context.Scope scope = context.wrapped.attach(context.context)) {
+			return context.wrapped.current();
+		}
+	}
+
+	/**
+	 * Changes scope {@code scopesPerLog} times and formats the trace and span ids once,
+	 * either from the MDC filled by the scope listeners or from the current context.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public String should_correlate_logs(LogCorrelationContext context) {
+		String line = null;
+		for (int i = 0; i < context.scopesPerLog; i++) {
+			try (io.opentelemetry.context.Scope scope = context.storage.attach(context.context)) {
+				if (i == 0) {
+					line = context.format();
+				}
+			}
+		}
+		return line;
+	}
+
+	/**
+	 * Extraction must not allocate a getter adapter or copy the propagation fields per
+	 * call. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Span.Builder should_extract_with_propagator(PropagatorContext context) {
+		return context.propagator.extract(context.carrier, Map::get);
+	}
+
 	@State(Scope.Benchmark)
 	public static class BenchmarkContext {
 
@@ -126,4 +387,249 @@ public class BridgeTests {
 
 	}
 
+	/**
+	 * Same as {@link BenchmarkContext} but every span gets recorded, so that the
+	 * benchmarks measure the SDK span and not a no-op one.
+	 */
+	@State(Scope.Benchmark)
+	public static class SampledBenchmarkContext {
+
+		volatile ConfigurableApplicationContext withSleuth;
+
+		volatile Tracer tracer;
+
+		volatile Span parent;
+
+		volatile Span childWithAttributes;
+
+		volatile Span unsampledParent;
+
+		volatile Executor wrappedExecutor;
+
+		final Runnable task = () -> {
+		};
+
+		volatile Flux<TraceContext> flux10;
+
+		volatile Flux<TraceContext> flux50;
+
+		final LongAdder scopeEvents = new LongAdder();
+
+		@Param
+		private TracerImplementation tracerImplementation;
+
+		@Setup
+		public void setup() {
+			SpringApplication application = new SpringApplication(BenchmarkContext.TestConfiguration.class);
+			application.setWebApplicationType(WebApplicationType.NONE);
+			application.addInitializers(applicationContext -> applicationContext.getBeanFactory()
+					.registerSingleton("scopeEventCounter", new ScopeListener() {
+						@Override
+						public void onScopeAttached(Context context) {
+							SampledBenchmarkContext.this.scopeEvents.increment();
+						}
+
+						@Override
+						public void onScopeClosed() {
+							SampledBenchmarkContext.this.scopeEvents.increment();
+						}
+
+						@Override
+						public void onScopeRestored(Context context) {
+							SampledBenchmarkContext.this.scopeEvents.increment();
+						}
+					}));
+			this.withSleuth = application.run("--spring.jmx.enabled=false",
+					"--spring.application.name=withSleuthSampled_" + this.tracerImplementation.name(),
+					"--spring.sleuth.otel.config.trace-id-ratio-based=1.0",
+					"--spring.sleuth.otel.config.scope-application-events=false",
+					"--spring.sleuth.otel.log.exporter.enabled=false");
+			this.tracer = this.withSleuth.getBean(Tracer.class);
+			this.parent = this.tracer.nextSpan().name("name").start();
+			this.childWithAttributes = this.tracer.nextSpan(this.parent).name("child").start();
+			for (int i = 0; i < 100; i++) {
+				this.childWithAttributes.tag("key" + i, "value" + i);
+			}
+			Map<String, String> unsampledHeaders = new HashMap<>();
+			unsampledHeaders.put("X-B3-TraceId", "463ac35c9f6413ad48485a3953bb6124");
+			unsampledHeaders.put("X-B3-SpanId", "a2fb4a1d1a96d312");
+			unsampledHeaders.put("X-B3-Sampled", "0");
+			this.unsampledParent = this.withSleuth.getBean(Propagator.class).extract(unsampledHeaders, Map::get)
+					.name("unsampled").start();
+			CurrentTraceContext currentTraceContext = this.withSleuth.getBean(CurrentTraceContext.class);
+			this.wrappedExecutor = currentTraceContext.wrap((Executor) Runnable::run);
+			this.flux10 = operators(currentTraceContext, this.parent.context(), 10);
+			this.flux50 = operators(currentTraceContext, this.parent.context(), 50);
+		}
+
+		private static Flux<TraceContext> operators(CurrentTraceContext currentTraceContext, TraceContext traceContext,
+				int count) {
+			Flux<TraceContext> flux = Flux.just(traceContext);
+			for (int i = 0; i < count; i++) {
+				flux = flux.map(captured -> {
+					// each operator starts from a clean thread, as if it hopped to
+					// another
+					// scheduler
+					try (io.opentelemetry.context.Scope clean = Context.root().makeCurrent();
+							CurrentTraceContext.Scope scope = currentTraceContext.newScope(captured)) {
+						return currentTraceContext.context();
+					}
+				});
+			}
+			return flux;
+		}
+
+		@TearDown
+		public void clean() {
+			this.withSleuth.close();
+			this.childWithAttributes.end();
+			this.unsampledParent.end();
+			this.parent.end();
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class BaggageContext {
+
+		final OtelBaggageManager baggageManager = new OtelBaggageManager(new OtelCurrentTraceContext(),
+				Collections.emptyList(), Collections.emptyList(), event -> {
+				});
+
+		@Param({ "1", "10", "64" })
+		int entries;
+
+		String name;
+
+		io.opentelemetry.context.Scope scope;
+
+		@Setup
+		public void setup() {
+			BaggageBuilder builder = Baggage.builder();
+			for (int i = 0; i < this.entries; i++) {
+				builder.put("baggage-key-" + i, "value-" + i);
+			}
+			this.name = "Baggage-Key-" + (this.entries - 1);
+			this.scope = Context.root().with(builder.build()).makeCurrent();
+		}
+
+		@TearDown
+		public void clean() {
+			this.scope.close();
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class ContextStorageContext {
+
+		final Context context = Context.root().with(Baggage.builder().put("foo", "bar").build());
+
+		final ContextStorage raw = ContextStorage.defaultStorage();
+
+		final ContextStorage wrapped = new EventPublishingContextWrapper(Collections.emptyList()).apply(this.raw);
+
+	}
+
+	@State(Scope.Thread)
+	public static class LogCorrelationContext {
+
+		final Context context = Context.root()
+				.with(io.opentelemetry.api.trace.Span.wrap(SpanContext.create("00000000000000000000000000000001",
+						"0000000000000002", TraceFlags.getSampled(), TraceState.getDefault())))
+				.with(Baggage.builder().put("foo", "bar").build());
+
+		final LoggingEvent event = new LoggingEvent();
+
+		final TraceIdConverter traceIdConverter = new TraceIdConverter();
+
+		final SpanIdConverter spanIdConverter = new SpanIdConverter();
+
+		@Param({ "mdc", "context" })
+		String mode;
+
+		@Param({ "1", "10" })
+		int scopesPerLog;
+
+		ContextStorage storage;
+
+		ContextLogCorrelation correlation;
+
+		@Setup
+		public void setup() {
+			if ("mdc".equals(this.mode)) {
+				this.storage = new EventPublishingContextWrapper(Arrays.asList(new Slf4jApplicationListener(),
+						new Slf4jBaggageApplicationListener(Collections.singletonList("foo"))))
+								.apply(ContextStorage.defaultStorage());
+			}
+			else {
+				this.storage = ContextStorage.defaultStorage();
+				this.correlation = ContextLogCorrelation.install(BaggageFields.empty());
+			}
+		}
+
+		String format() {
+			if (this.correlation == null) {
+				return MDC.get("traceId") + "," + MDC.get("spanId");
+			}
+			return this.traceIdConverter.convert(this.event) + "," + this.spanIdConverter.convert(this.event);
+		}
+
+		@TearDown
+		public void clean() {
+			if (this.correlation != null) {
+				this.correlation.close();
+			}
+			MDC.clear();
+		}
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class PropagatorContext {
+
+		final OtelPropagator propagator = new OtelPropagator(ContextPropagators.create(TextMapPropagator
+				.composite(W3CTraceContextPropagator.getInstance(), W3CBaggagePropagator.getInstance())),
+				OpenTelemetry.noop().getTracer("benchmark"));
+
+		final Map<String, String> carrier = new HashMap<>();
+
+		@Setup
+		public void setup() {
+			this.carrier.put("traceparent", "00-3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-01");
+			this.carrier.put("baggage", "foo=bar");
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class SpanInScope {
+
+		Tracer.SpanInScope spanInScope;
+
+		@Setup(Level.Iteration)
+		public void setup(SampledBenchmarkContext context) {
+			this.spanInScope = context.tracer.withSpan(context.parent);
+		}
+
+		@TearDown(Level.Iteration)
+		public void clean() {
+			this.spanInScope.close();
+		}
+
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class ScopeEventCounters {
+
+		public long scopeEvents;
+
+		@Setup(Level.Iteration)
+		public void clean() {
+			this.scopeEvents = 0;
+		}
+
+	}
+
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.benchmarks.jmh.bridge;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import jmh.mbr.junit5.Microbenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.sleuth.otel.propagation.CompositeTextMapPropagator;
+import org.springframework.cloud.sleuth.otel.propagation.PropagationType;
+
+/**
+ * Injects, extracts and lists the fields of a {@link CompositeTextMapPropagator} for each
+ * combination of {@link PropagationType propagation types}. Extraction gets a carrier
+ * written by the same propagator, so the first configured type always matches.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Microbenchmark
+public class CompositeTextMapPropagatorTests {
+
+	@Benchmark
+	public List<String> should_return_fields(PropagatorContext context) {
+		return context.propagator.fields();
+	}
+
+	@Benchmark
+	public Map<String, String> should_inject(PropagatorContext context) {
+		Map<String, String> carrier = new HashMap<>();
+		context.propagator.inject(context.context, carrier, Map::put);
+		return carrier;
+	}
+
+	@Benchmark
+	public Context should_extract(PropagatorContext context) {
+		return context.propagator.extract(Context.root(), context.carrier, MapGetter.INSTANCE);
+	}
+
+	/**
+	 * Request without any tracing headers, every propagator looks up its headers in vain.
+	 */
+	@Benchmark
+	public Context should_extract_untraced_request(PropagatorContext context) {
+		return context.propagator.extract(Context.root(), context.untracedCarrier, MapGetter.INSTANCE);
+	}
+
+	@State(Scope.Benchmark)
+	public static class PropagatorContext {
+
+		@Param({ "W3C", "W3C_ZERO_COPY", "B3", "B3_ZERO_COPY", "AWS", "JAEGER", "OT_TRACER", "CUSTOM", "B3,W3C",
+				"W3C,B3", "W3C,B3,AWS,JAEGER,OT_TRACER" })
+		String types;
+
+		final Context context = Context.root()
+				.with(Span.wrap(SpanContext.create("00000000000000000000000000000001", "0000000000000002",
+						TraceFlags.getSampled(), TraceState.getDefault())))
+				.with(Baggage.builder().put("foo", "bar").build());
+
+		CompositeTextMapPropagator propagator;
+
+		final Map<String, String> carrier = new HashMap<>();
+
+		final Map<String, String> untracedCarrier = new HashMap<>();
+
+		@Setup
+		public void setup() {
+			List<PropagationType> types = Arrays.stream(this.types.split(",")).map(PropagationType::valueOf)
+					.collect(Collectors.toList());
+			this.propagator = new CompositeTextMapPropagator(new StaticListableBeanFactory(), types);
+			this.propagator.inject(this.context, this.carrier, Map::put);
+			this.untracedCarrier.put("Accept", "application/json");
+			this.untracedCarrier.put("Host", "localhost:8080");
+			this.untracedCarrier.put("User-Agent", "benchmark");
+		}
+
+	}
+
+	private enum MapGetter implements TextMapGetter<Map<String, String>> {
+
+		INSTANCE;
+
+		@Override
+		public Iterable<String> keys(Map<String, String> carrier) {
+			return carrier.keySet();
+		}
+
+		@Override
+		public String get(Map<String, String> carrier, String key) {
+			return carrier.get(key);
+		}
+
+	}
+
+}
@@ -17,8 +17,11 @@
 package org.springframework.cloud.sleuth.autoconfig.otel;
 
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.ObservableLongCounter;
 import io.opentelemetry.context.ContextStorage;
 import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.instrumentation.api.instrumenter.http.HttpClientAttributesGetter;
@@ -50,6 +53,8 @@ import org.springframework.cloud.sleuth.instrument.web.HttpClientSampler;
 import org.springframework.cloud.sleuth.instrument.web.HttpServerRequestParser;
 import org.springframework.cloud.sleuth.instrument.web.HttpServerResponseParser;
 import org.springframework.cloud.sleuth.instrument.web.SkipPatternProvider;
+import org.springframework.cloud.sleuth.otel.bridge.AttributeKeyCache;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
 import org.springframework.cloud.sleuth.otel.bridge.EventPublishingContextWrapper;
 import org.springframework.cloud.sleuth.otel.bridge.OtelBaggageManager;
 import org.springframework.cloud.sleuth.otel.bridge.OtelCurrentTraceContext;
@@ -58,12 +63,14 @@ import org.springframework.cloud.sleuth.otel.bridge.OtelHttpServerHandler;
 import org.springframework.cloud.sleuth.otel.bridge.OtelPropagator;
 import org.springframework.cloud.sleuth.otel.bridge.OtelSpanCustomizer;
 import org.springframework.cloud.sleuth.otel.bridge.OtelTracer;
+import org.springframework.cloud.sleuth.otel.bridge.ScopeListener;
 import org.springframework.cloud.sleuth.otel.bridge.SkipPatternSampler;
 import org.springframework.cloud.sleuth.otel.bridge.SpanExporterCustomizer;
 import org.springframework.cloud.sleuth.otel.bridge.SpringHttpClientAttributesGetter;
 import org.springframework.cloud.sleuth.otel.bridge.SpringHttpServerAttributesGetter;
 import org.springframework.cloud.sleuth.propagation.Propagator;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -84,16 +91,38 @@ class OtelBridgeConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	Tracer otelTracerBridge(io.opentelemetry.api.trace.Tracer tracer, ApplicationEventPublisher publisher,
-			CurrentTraceContext currentTraceContext, SleuthBaggageProperties sleuthBaggageProperties) {
-		return new OtelTracer(tracer, publisher, new OtelBaggageManager(currentTraceContext,
-				sleuthBaggageProperties.getRemoteFields(), sleuthBaggageProperties.getTagFields(), publisher));
+			CurrentTraceContext currentTraceContext, BaggageFields baggageFields) {
+		return new OtelTracer(tracer, publisher, new OtelBaggageManager(currentTraceContext, baggageFields, publisher));
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	BaggageFields otelBaggageFields(SleuthBaggageProperties sleuthBaggageProperties) {
+		return new BaggageFields(sleuthBaggageProperties.getRemoteFields(), sleuthBaggageProperties.getTagFields(),
+				sleuthBaggageProperties.getCorrelationFields());
+	}
+
+	@Bean
+	ObservableLongCounter otelAttributeKeyCacheMetrics(ObjectProvider<MeterProvider> meterProvider) {
+		return AttributeKeyCache.getInstance().registerMetrics(meterProvider.getIfAvailable(MeterProvider::noop));
 	}
 
 	// Both CurrentTraceContext & application of a ContextStorage wrapper
 	@Bean
 	@ConditionalOnMissingBean
-	OtelCurrentTraceContext otelCurrentTraceContext(ApplicationEventPublisher publisher) {
-		ContextStorage.addWrapper(new EventPublishingContextWrapper(publisher));
+	OtelCurrentTraceContext otelCurrentTraceContext(ApplicationEventPublisher publisher,
+			ObjectProvider<ScopeListener> scopeListeners, OtelProperties otelProperties) {
+		if (otelProperties.isScopeApplicationEvents()) {
+			// application listeners get the events, the other scope listeners are called
+			// directly
+			ContextStorage.addWrapper(new EventPublishingContextWrapper(scopeListeners.orderedStream()
+					.filter(listener -> !(listener instanceof ApplicationListener)).collect(Collectors.toList()),
+					publisher));
+		}
+		else {
+			ContextStorage.addWrapper(
+					new EventPublishingContextWrapper(scopeListeners.orderedStream().collect(Collectors.toList())));
+		}
 		return new OtelCurrentTraceContext();
 	}
 
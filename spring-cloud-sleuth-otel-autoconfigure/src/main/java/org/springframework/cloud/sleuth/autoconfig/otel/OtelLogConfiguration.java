@@ -23,9 +23,10 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.cloud.sleuth.autoconfig.SleuthBaggageProperties;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
 import org.springframework.cloud.sleuth.otel.bridge.Slf4jApplicationListener;
 import org.springframework.cloud.sleuth.otel.bridge.Slf4jBaggageApplicationListener;
+import org.springframework.cloud.sleuth.otel.log.ContextLogCorrelation;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -48,14 +49,34 @@ class OtelLogConfiguration {
 
 		@Bean
 		@ConditionalOnMissingBean
+		@ConditionalOnProperty(value = "spring.sleuth.otel.log.correlation.mode", havingValue = "mdc",
+				matchIfMissing = true)
 		Slf4jApplicationListener otelSlf4jApplicationListener() {
 			return new Slf4jApplicationListener();
 		}
 
 		@Bean
 		@ConditionalOnMissingBean
-		Slf4jBaggageApplicationListener otelSlf4jBaggageApplicationListener(SleuthBaggageProperties baggageProperties) {
-			return new Slf4jBaggageApplicationListener(baggageProperties.getCorrelationFields());
+		@ConditionalOnProperty(value = "spring.sleuth.otel.log.correlation.mode", havingValue = "mdc",
+				matchIfMissing = true)
+		Slf4jBaggageApplicationListener otelSlf4jBaggageApplicationListener(BaggageFields baggageFields) {
+			return new Slf4jBaggageApplicationListener(baggageFields);
+		}
+
+	}
+
+	/**
+	 * Reads the correlation values from the current context when logging, so that scope
+	 * changes do not touch the MDC at all.
+	 */
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(value = "spring.sleuth.otel.log.correlation.mode", havingValue = "context")
+	static class ContextCorrelationConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		ContextLogCorrelation otelContextLogCorrelation(BaggageFields baggageFields) {
+			return ContextLogCorrelation.install(baggageFields);
 		}
 
 	}
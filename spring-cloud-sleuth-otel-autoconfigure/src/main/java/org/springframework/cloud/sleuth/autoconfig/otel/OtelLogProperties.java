@@ -31,6 +31,8 @@ public class OtelLogProperties {
 
 	private Slf4j slf4j = new Slf4j();
 
+	private Correlation correlation = new Correlation();
+
 	public Exporter getExporter() {
 		return this.exporter;
 	}
@@ -47,6 +49,14 @@ public class OtelLogProperties {
 		this.slf4j = slf4j;
 	}
 
+	public Correlation getCorrelation() {
+		return this.correlation;
+	}
+
+	public void setCorrelation(Correlation correlation) {
+		this.correlation = correlation;
+	}
+
 	public static class Exporter {
 
 		/**
@@ -81,4 +91,39 @@ public class OtelLogProperties {
 
 	}
 
+	public static class Correlation {
+
+		/**
+		 * How trace ids, span ids and correlation baggage reach log events. MDC copies
+		 * them into the MDC on every scope change. CONTEXT reads them from the current
+		 * context only when a log event gets created, via the Log4j2 context data
+		 * provider or the Logback converters of the
+		 * org.springframework.cloud.sleuth.otel.log package.
+		 */
+		private Mode mode = Mode.MDC;
+
+		public Mode getMode() {
+			return this.mode;
+		}
+
+		public void setMode(Mode mode) {
+			this.mode = mode;
+		}
+
+	}
+
+	public enum Mode {
+
+		/**
+		 * Copy the values into the MDC on every scope change.
+		 */
+		MDC,
+
+		/**
+		 * Read the values from the current context when logging.
+		 */
+		CONTEXT
+
+	}
+
 }
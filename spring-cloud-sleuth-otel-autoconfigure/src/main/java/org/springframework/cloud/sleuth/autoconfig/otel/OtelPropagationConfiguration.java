@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.context.propagation.TextMapGetter;
@@ -33,7 +34,9 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.sleuth.BaggageManager;
 import org.springframework.cloud.sleuth.autoconfig.SleuthBaggageProperties;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
 import org.springframework.cloud.sleuth.otel.bridge.BaggageTaggingSpanProcessor;
+import org.springframework.cloud.sleuth.otel.propagation.BaggageLimits;
 import org.springframework.cloud.sleuth.otel.propagation.BaggageTextMapPropagator;
 import org.springframework.cloud.sleuth.otel.propagation.CompositeTextMapPropagator;
 import org.springframework.cloud.sleuth.otel.propagation.PropagationType;
@@ -67,6 +70,14 @@ class OtelPropagationConfiguration {
 		return ContextPropagators.create(TextMapPropagator.composite(mapPropagators));
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	BaggageLimits otelBaggageLimits(OtelPropagationProperties properties, ObjectProvider<MeterProvider> meterProvider) {
+		OtelPropagationProperties.BaggageLimitsProperties limits = properties.getBaggageLimits();
+		return new BaggageLimits(limits.getMaxBytes(), limits.getMaxEntries(), limits.getMaxValueLength(),
+				meterProvider.getIfAvailable(MeterProvider::noop));
+	}
+
 	private ContextPropagators noOpContextPropagator() {
 		return () -> new TextMapPropagator() {
 			@Override
@@ -92,8 +103,9 @@ class OtelPropagationConfiguration {
 	static class PropagatorsConfiguration {
 
 		@Bean
-		TextMapPropagator compositeTextMapPropagator(BeanFactory beanFactory, SleuthPropagationProperties properties) {
-			return new CompositeTextMapPropagator(beanFactory, properties.getType());
+		TextMapPropagator compositeTextMapPropagator(BeanFactory beanFactory, SleuthPropagationProperties properties,
+				BaggageLimits baggageLimits) {
+			return new CompositeTextMapPropagator(beanFactory, properties.getType(), baggageLimits);
 		}
 
 	}
@@ -103,8 +115,9 @@ class OtelPropagationConfiguration {
 	static class BaggagePropagatorConfiguration {
 
 		@Bean
-		TextMapPropagator baggageTextMapPropagator(SleuthBaggageProperties properties, BaggageManager baggageManager) {
-			return new BaggageTextMapPropagator(properties.getRemoteFields(), baggageManager);
+		TextMapPropagator baggageTextMapPropagator(BaggageFields baggageFields, BaggageManager baggageManager,
+				BaggageLimits baggageLimits) {
+			return new BaggageTextMapPropagator(baggageFields, baggageManager, baggageLimits);
 		}
 
 	}
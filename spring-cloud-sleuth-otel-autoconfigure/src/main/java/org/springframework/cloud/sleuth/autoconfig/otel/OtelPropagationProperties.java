@@ -17,6 +17,7 @@
 package org.springframework.cloud.sleuth.autoconfig.otel;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.sleuth.otel.propagation.BaggageLimits;
 
 /**
  * Sleuth settings for OpenTelemetry propagation.
@@ -29,6 +30,8 @@ public class OtelPropagationProperties {
 
 	private SleuthBaggage sleuthBaggage = new SleuthBaggage();
 
+	private BaggageLimitsProperties baggageLimits = new BaggageLimitsProperties();
+
 	public SleuthBaggage getSleuthBaggage() {
 		return this.sleuthBaggage;
 	}
@@ -37,6 +40,14 @@ public class OtelPropagationProperties {
 		this.sleuthBaggage = sleuthBaggage;
 	}
 
+	public BaggageLimitsProperties getBaggageLimits() {
+		return this.baggageLimits;
+	}
+
+	public void setBaggageLimits(BaggageLimitsProperties baggageLimits) {
+		this.baggageLimits = baggageLimits;
+	}
+
 	public static class SleuthBaggage {
 
 		/**
@@ -55,4 +66,50 @@ public class OtelPropagationProperties {
 
 	}
 
+	public static class BaggageLimitsProperties {
+
+		/**
+		 * Maximum total length, in UTF-8 bytes, of the baggage received from upstream
+		 * services. A longer W3C baggage header gets rejected.
+		 */
+		private int maxBytes = BaggageLimits.DEFAULT_MAX_BYTES;
+
+		/**
+		 * Maximum number of baggage entries received from upstream services. Entries
+		 * above the limit get dropped.
+		 */
+		private int maxEntries = BaggageLimits.DEFAULT_MAX_ENTRIES;
+
+		/**
+		 * Maximum length of a single baggage value received from upstream services, in
+		 * UTF-8 bytes. Longer values get dropped.
+		 */
+		private int maxValueLength = BaggageLimits.DEFAULT_MAX_BYTES;
+
+		public int getMaxBytes() {
+			return this.maxBytes;
+		}
+
+		public void setMaxBytes(int maxBytes) {
+			this.maxBytes = maxBytes;
+		}
+
+		public int getMaxEntries() {
+			return this.maxEntries;
+		}
+
+		public void setMaxEntries(int maxEntries) {
+			this.maxEntries = maxEntries;
+		}
+
+		public int getMaxValueLength() {
+			return this.maxValueLength;
+		}
+
+		public void setMaxValueLength(int maxValueLength) {
+			this.maxValueLength = maxValueLength;
+		}
+
+	}
+
 }
@@ -70,6 +70,13 @@ public class OtelProperties {
 	 */
 	private int maxLinkAttrs = SpanLimits.getDefault().getMaxNumberOfAttributesPerLink();
 
+	/**
+	 * Publishes scope changes as Spring application events, for application listeners of
+	 * the scope events. When disabled, only ScopeListener beans get called, directly,
+	 * which is much faster.
+	 */
+	private boolean scopeApplicationEvents = true;
+
 	public String getInstrumentationName() {
 		return this.instrumentationName;
 	}
@@ -134,4 +141,12 @@ public class OtelProperties {
 		this.maxLinkAttrs = maxLinkAttrs;
 	}
 
+	public boolean isScopeApplicationEvents() {
+		return this.scopeApplicationEvents;
+	}
+
+	public void setScopeApplicationEvents(boolean scopeApplicationEvents) {
+		this.scopeApplicationEvents = scopeApplicationEvents;
+	}
+
 }
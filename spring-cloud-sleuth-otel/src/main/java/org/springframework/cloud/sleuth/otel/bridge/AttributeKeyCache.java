@@ -0,0 +1,156 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.ObservableLongCounter;
+
+/**
+ * Bounded cache of string {@link AttributeKey}s used when tagging spans with raw
+ * {@link String} keys. OpenTelemetry creates a new {@link AttributeKey} per
+ * {@code setAttribute(String, String)} call, whereas applications tend to use a small,
+ * fixed set of tag keys.
+ *
+ * The cache is a fixed size, two-way set associative table. Each key can live in either
+ * slot of its set, so two hot keys that hash to the same set do not keep evicting each
+ * other. A new key evicts the least recently inserted entry of a full set, so high
+ * cardinality keys can never make the cache grow.
+ *
+ * Hits and misses are reported in the {@value #METRIC_NAME} counter once
+ * {@link #registerMetrics(MeterProvider)} is called.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+public final class AttributeKeyCache {
+
+	/**
+	 * Name of the counter of cache hits and misses.
+	 */
+	public static final String METRIC_NAME = "sleuth.attribute.key.cache";
+
+	static final int DEFAULT_MAX_SIZE = 1024;
+
+	private static final AttributeKey<String> RESULT = AttributeKey.stringKey("result");
+
+	private static final Attributes HIT = Attributes.of(RESULT, "hit");
+
+	private static final Attributes MISS = Attributes.of(RESULT, "miss");
+
+	private static final AttributeKeyCache INSTANCE = new AttributeKeyCache(DEFAULT_MAX_SIZE);
+
+	private final AtomicReferenceArray<AttributeKey<String>> keys;
+
+	private final int mask;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	AttributeKeyCache(int maxSize) {
+		int size = Integer.highestOneBit(Math.max(maxSize, 1) - 1) << 1;
+		this.keys = new AtomicReferenceArray<>(Math.max(size, 2));
+		this.mask = (this.keys.length() >> 1) - 1;
+	}
+
+	/**
+	 * Returns the cache shared by the bridge.
+	 * @return the shared cache
+	 */
+	public static AttributeKeyCache getInstance() {
+		return INSTANCE;
+	}
+
+	static AttributeKey<String> stringKey(String key) {
+		return INSTANCE.get(key);
+	}
+
+	AttributeKey<String> get(String key) {
+		if (key == null) {
+			return AttributeKey.stringKey(key);
+		}
+		int hash = key.hashCode();
+		int first = ((hash ^ (hash >>> 16)) & this.mask) << 1;
+		AttributeKey<String> cached = this.keys.get(first);
+		if (cached != null && cached.getKey().equals(key)) {
+			this.hits.increment();
+			return cached;
+		}
+		AttributeKey<String> second = this.keys.get(first + 1);
+		if (second != null && second.getKey().equals(key)) {
+			this.hits.increment();
+			return second;
+		}
+		this.misses.increment();
+		AttributeKey<String> attributeKey = AttributeKey.stringKey(key);
+		// racing writers can at worst drop an entry, which only costs a later miss
+		if (cached != null) {
+			this.keys.set(first + 1, cached);
+		}
+		this.keys.set(first, attributeKey);
+		return attributeKey;
+	}
+
+	/**
+	 * Reports hits and misses of this cache in the {@value #METRIC_NAME} counter.
+	 * @param meterProvider provider of the meter the counter is registered with
+	 * @return the registered counter, to be closed when the metrics are no longer needed
+	 */
+	public ObservableLongCounter registerMetrics(MeterProvider meterProvider) {
+		return meterProvider.get("org.springframework.cloud.sleuth").counterBuilder(METRIC_NAME)
+				.setDescription("Lookups of span attribute keys served from or added to the cache")
+				.buildWithCallback(measurement -> {
+					measurement.record(hitCount(), HIT);
+					measurement.record(missCount(), MISS);
+				});
+	}
+
+	/**
+	 * Returns the number of lookups served from the cache.
+	 * @return number of cache hits
+	 */
+	public long hitCount() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Returns the number of lookups that had to create a new {@link AttributeKey}.
+	 * @return number of cache misses
+	 */
+	public long missCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Returns the maximum number of keys held by the cache.
+	 * @return maximum cache size
+	 */
+	public int maxSize() {
+		return this.keys.length();
+	}
+
+	@Override
+	public String toString() {
+		return "AttributeKeyCache{" + "maxSize=" + maxSize() + ", hits=" + hitCount() + ", misses=" + missCount() + '}';
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable view of the configured remote, tag and correlation baggage fields. Answers
+ * whether a baggage key is one of them, ignoring case, without allocating.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+public final class BaggageFields {
+
+	private static final BaggageFields EMPTY = new BaggageFields(Collections.emptyList(), Collections.emptyList(),
+			Collections.emptyList());
+
+	private static final int REMOTE = 1;
+
+	private static final int TAG = 1 << 1;
+
+	private static final int CORRELATION = 1 << 2;
+
+	private final List<String> remoteFields;
+
+	private final List<String> tagFields;
+
+	private final List<String> correlationFields;
+
+	private final String[] keys;
+
+	private final int[] flags;
+
+	private final int mask;
+
+	/**
+	 * Creates a new instance of {@link BaggageFields}.
+	 * @param remoteFields fields propagated over the wire
+	 * @param tagFields fields added as span tags
+	 * @param correlationFields fields put into the logging context
+	 */
+	public BaggageFields(List<String> remoteFields, List<String> tagFields, List<String> correlationFields) {
+		this.remoteFields = unmodifiableCopy(remoteFields);
+		this.tagFields = unmodifiableCopy(tagFields);
+		this.correlationFields = unmodifiableCopy(correlationFields);
+		int capacity = tableSize(this.remoteFields.size() + this.tagFields.size() + this.correlationFields.size());
+		this.keys = new String[capacity];
+		this.flags = new int[capacity];
+		this.mask = capacity - 1;
+		put(this.remoteFields, REMOTE);
+		put(this.tagFields, TAG);
+		put(this.correlationFields, CORRELATION);
+	}
+
+	/**
+	 * @return instance with no fields configured
+	 */
+	public static BaggageFields empty() {
+		return EMPTY;
+	}
+
+	private static List<String> unmodifiableCopy(List<String> fields) {
+		return Collections.unmodifiableList(new ArrayList<>(fields));
+	}
+
+	private static int tableSize(int fields) {
+		// at most half full, so that probe sequences stay short
+		int size = 2;
+		while (size < fields * 2) {
+			size <<= 1;
+		}
+		return size;
+	}
+
+	private void put(List<String> fields, int flag) {
+		for (String field : fields) {
+			int slot = slot(field);
+			this.keys[slot] = field;
+			this.flags[slot] |= flag;
+		}
+	}
+
+	private int slot(String key) {
+		int slot = hashIgnoreCase(key) & this.mask;
+		while (this.keys[slot] != null && !this.keys[slot].equalsIgnoreCase(key)) {
+			slot = (slot + 1) & this.mask;
+		}
+		return slot;
+	}
+
+	private static int hashIgnoreCase(String key) {
+		int hash = 0;
+		for (int i = 0; i < key.length(); i++) {
+			hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	private boolean is(String key, int flag) {
+		if (key == null) {
+			return false;
+		}
+		return (this.flags[slot(key)] & flag) != 0;
+	}
+
+	/**
+	 * @param key baggage key
+	 * @return {@code true} when the key should be propagated over the wire
+	 */
+	public boolean isRemote(String key) {
+		return is(key, REMOTE);
+	}
+
+	/**
+	 * @param key baggage key
+	 * @return {@code true} when the key should be added as a span tag
+	 */
+	public boolean isTag(String key) {
+		return is(key, TAG);
+	}
+
+	/**
+	 * @param key baggage key
+	 * @return {@code true} when the key should be put into the logging context
+	 */
+	public boolean isCorrelation(String key) {
+		return is(key, CORRELATION);
+	}
+
+	/**
+	 * @return remote fields, as configured
+	 */
+	public List<String> getRemoteFields() {
+		return this.remoteFields;
+	}
+
+	/**
+	 * @return tag fields, as configured
+	 */
+	public List<String> getTagFields() {
+		return this.tagFields;
+	}
+
+	/**
+	 * @return correlation fields, as configured
+	 */
+	public List<String> getCorrelationFields() {
+		return this.correlationFields;
+	}
+
+	@Override
+	public String toString() {
+		return "BaggageFields{" + "remoteFields=" + this.remoteFields + ", tagFields=" + this.tagFields
+				+ ", correlationFields=" + this.correlationFields + '}';
+	}
+
+}
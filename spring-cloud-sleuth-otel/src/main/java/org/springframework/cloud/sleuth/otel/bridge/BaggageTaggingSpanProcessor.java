@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,23 +28,42 @@ import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 
 import static io.opentelemetry.api.common.AttributeKey.stringKey;
-import static java.util.stream.Collectors.toMap;
 
 public class BaggageTaggingSpanProcessor implements SpanProcessor {
 
 	private final Map<String, AttributeKey<String>> tagsToApply;
 
+	private final String[] tagNames;
+
+	private final AttributeKey<String>[] tagKeys;
+
+	@SuppressWarnings("unchecked")
 	public BaggageTaggingSpanProcessor(List<String> tagsToApply) {
-		this.tagsToApply = tagsToApply.stream().map(tag -> stringKey(tag))
-				.collect(toMap(AttributeKey::getKey, key -> key));
+		Map<String, AttributeKey<String>> tags = new LinkedHashMap<>();
+		tagsToApply.forEach(tag -> tags.putIfAbsent(tag, stringKey(tag)));
+		this.tagsToApply = tags;
+		this.tagNames = tags.keySet().toArray(new String[0]);
+		this.tagKeys = tags.values().toArray(new AttributeKey[0]);
 	}
 
 	@Override
 	public void onStart(Context context, ReadWriteSpan readWriteSpan) {
 		Baggage baggage = Baggage.fromContext(context);
-
+		if (baggage.isEmpty()) {
+			return;
+		}
+		// look up whichever side is smaller, typically a few tags in a larger baggage
+		if (this.tagNames.length < baggage.size()) {
+			for (int i = 0; i < this.tagNames.length; i++) {
+				String value = baggage.getEntryValue(this.tagNames[i]);
+				if (value != null) {
+					readWriteSpan.setAttribute(this.tagKeys[i], value);
+				}
+			}
+			return;
+		}
 		baggage.forEach((key, baggageEntry) -> {
-			AttributeKey<String> attributeKey = tagsToApply.get(key);
+			AttributeKey<String> attributeKey = this.tagsToApply.get(key);
 			if (attributeKey != null) {
 				readWriteSpan.setAttribute(attributeKey, baggageEntry.getValue());
 			}
@@ -52,7 +72,7 @@ public class BaggageTaggingSpanProcessor implements SpanProcessor {
 
 	@Override
 	public boolean isStartRequired() {
-		return true;
+		return this.tagNames.length > 0;
 	}
 
 	@Override
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 import io.opentelemetry.api.baggage.Baggage;
@@ -27,16 +29,53 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.Nullable;
 
+/**
+ * Wraps the {@link ContextStorage} to notify {@link ScopeListener}s about every scope
+ * change. Can publish the changes as Spring application events instead, which is much
+ * more expensive.
+ *
+ * @since 1.0.0
+ */
 public final class EventPublishingContextWrapper implements Function<ContextStorage, ContextStorage> {
 
+	private final ScopeListener[] listeners;
+
+	@Nullable
 	private final ApplicationEventPublisher publisher;
 
+	/**
+	 * Creates a wrapper that publishes scope changes as application events.
+	 * @param publisher application event publisher
+	 */
 	public EventPublishingContextWrapper(ApplicationEventPublisher publisher) {
+		this(Collections.emptyList(), publisher);
+	}
+
+	/**
+	 * Creates a wrapper that calls the listeners directly.
+	 * @param listeners scope listeners
+	 */
+	public EventPublishingContextWrapper(List<ScopeListener> listeners) {
+		this(listeners, null);
+	}
+
+	/**
+	 * Creates a new instance of {@link EventPublishingContextWrapper}.
+	 * @param listeners scope listeners called directly
+	 * @param publisher when not {@code null}, scope changes are also published as
+	 * application events
+	 */
+	public EventPublishingContextWrapper(List<ScopeListener> listeners, @Nullable ApplicationEventPublisher publisher) {
+		this.listeners = listeners.stream().filter(listener -> !listener.isNoop()).toArray(ScopeListener[]::new);
 		this.publisher = publisher;
 	}
 
 	@Override
 	public ContextStorage apply(ContextStorage contextStorage) {
+		if (this.listeners.length == 0 && this.publisher == null) {
+			// nobody to notify, no need to look up the current context or wrap the scope
+			return contextStorage;
+		}
 		return new ContextStorage() {
 			@Override
 			public io.opentelemetry.context.Scope attach(Context context) {
@@ -45,11 +84,11 @@ public final class EventPublishingContextWrapper implements Function<ContextStor
 				if (scope == io.opentelemetry.context.Scope.noop()) {
 					return scope;
 				}
-				publisher.publishEvent(new ScopeAttachedEvent(this, context));
+				attached(context);
 				return () -> {
 					scope.close();
-					publisher.publishEvent(new ScopeClosedEvent(this));
-					publisher.publishEvent(new ScopeRestoredEvent(this, currentContext));
+					closed();
+					restored(currentContext);
 				};
 			}
 
@@ -60,6 +99,33 @@ public final class EventPublishingContextWrapper implements Function<ContextStor
 		};
 	}
 
+	private void attached(Context context) {
+		for (ScopeListener listener : this.listeners) {
+			listener.onScopeAttached(context);
+		}
+		if (this.publisher != null) {
+			this.publisher.publishEvent(new ScopeAttachedEvent(this, context));
+		}
+	}
+
+	private void closed() {
+		for (ScopeListener listener : this.listeners) {
+			listener.onScopeClosed();
+		}
+		if (this.publisher != null) {
+			this.publisher.publishEvent(new ScopeClosedEvent(this));
+		}
+	}
+
+	private void restored(Context context) {
+		for (ScopeListener listener : this.listeners) {
+			listener.onScopeRestored(context);
+		}
+		if (this.publisher != null) {
+			this.publisher.publishEvent(new ScopeRestoredEvent(this, context));
+		}
+	}
+
 	public static class ScopeAttachedEvent extends ApplicationEvent {
 
 		/**
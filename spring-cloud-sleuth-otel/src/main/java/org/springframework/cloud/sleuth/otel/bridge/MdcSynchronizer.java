@@ -0,0 +1,59 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Objects;
+
+import org.slf4j.MDC;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Writes to the {@link MDC} only when a value differs from what the current thread's MDC
+ * already holds. Logging implementations such as Logback copy the whole MDC map on every
+ * put and remove, while reading a value is cheap. Diffing against the thread's MDC
+ * itself, rather than against a separately remembered copy, keeps it correct when
+ * something else (e.g. {@link MDC#clear()}) modified the MDC in between.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+final class MdcSynchronizer {
+
+	private MdcSynchronizer() {
+	}
+
+	/**
+	 * Puts the value under the given key, or removes the key when the value is
+	 * {@code null}, unless the MDC already has that state.
+	 * @param key MDC key
+	 * @param value new value or {@code null} to remove the key
+	 */
+	static void update(String key, @Nullable String value) {
+		String current = MDC.get(key);
+		if (Objects.equals(current, value)) {
+			return;
+		}
+		if (value == null) {
+			MDC.remove(key);
+		}
+		else {
+			MDC.put(key, value);
+		}
+	}
+
+}
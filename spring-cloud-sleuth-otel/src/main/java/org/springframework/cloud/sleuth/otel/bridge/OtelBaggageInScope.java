@@ -16,11 +16,9 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
-import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import io.opentelemetry.api.baggage.Baggage;
-import io.opentelemetry.api.baggage.BaggageBuilder;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
@@ -41,17 +39,17 @@ class OtelBaggageInScope implements BaggageInScope {
 
 	private final CurrentTraceContext currentTraceContext;
 
-	private final List<String> tagFields;
+	private final BaggageFields baggageFields;
 
 	private final AtomicReference<Entry> entry = new AtomicReference<>();
 
 	private final AtomicReference<Scope> scope = new AtomicReference<>();
 
 	OtelBaggageInScope(OtelBaggageManager otelBaggageManager, CurrentTraceContext currentTraceContext,
-			List<String> tagFields, Entry entry) {
+			BaggageFields baggageFields, Entry entry) {
 		this.otelBaggageManager = otelBaggageManager;
 		this.currentTraceContext = currentTraceContext;
-		this.tagFields = tagFields;
+		this.baggageFields = baggageFields;
 		this.entry.set(entry);
 	}
 
@@ -88,19 +86,16 @@ class OtelBaggageInScope implements BaggageInScope {
 		}
 		OtelTraceContext ctx = (OtelTraceContext) context;
 		Context storedCtx = ctx.context();
-		Baggage fromContext = Baggage.fromContext(storedCtx);
-
-		BaggageBuilder newBaggageBuilder = fromContext.toBuilder();
-		Baggage.current().forEach(
-				(key, baggageEntry) -> newBaggageBuilder.put(key, baggageEntry.getValue(), baggageEntry.getMetadata()));
-
-		baggage = newBaggageBuilder.put(entry().getKey(), value, entry().getMetadata()).build();
+		// after a previous set both contexts hold the same baggage, so there is nothing
+		// to merge and only the new entry gets added
+		baggage = PersistentBaggage.of(Baggage.fromContext(storedCtx)).withAll(Baggage.fromContext(current))
+				.with(entry().getKey(), value, entry().getMetadata());
 		current = current.with(baggage);
 		Context withBaggage = current.with(baggage);
 		ctx.updateContext(withBaggage);
 		this.scope.set(withBaggage.makeCurrent());
-		if (this.tagFields.stream().map(String::toLowerCase).anyMatch(s -> s.equals(entry().getKey()))) {
-			currentSpan.setAttribute(entry().getKey(), value);
+		if (this.baggageFields.isTag(entry().getKey())) {
+			currentSpan.setAttribute(AttributeKeyCache.stringKey(entry().getKey()), value);
 		}
 		Entry previous = entry();
 		this.entry.set(new Entry(previous.getKey(), value, previous.getMetadata()));
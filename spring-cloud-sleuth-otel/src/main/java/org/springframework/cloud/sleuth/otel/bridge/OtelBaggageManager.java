@@ -17,11 +17,10 @@
 package org.springframework.cloud.sleuth.otel.bridge;
 
 import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -43,8 +42,6 @@ import org.springframework.lang.Nullable;
 
 import static java.util.Collections.unmodifiableCollection;
 import static java.util.Collections.unmodifiableMap;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toMap;
 
 /**
  * OpenTelemetry implementation of a {@link BaggageManager}. Doesn't implement an
@@ -62,18 +59,20 @@ public class OtelBaggageManager implements BaggageManager {
 
 	private final CurrentTraceContext currentTraceContext;
 
-	private final List<String> remoteFields;
-
-	private final List<String> tagFields;
+	private final BaggageFields baggageFields;
 
 	// Not used
 	private final ApplicationEventPublisher publisher;
 
 	public OtelBaggageManager(CurrentTraceContext currentTraceContext, List<String> remoteFields,
 			List<String> tagFields, ApplicationEventPublisher publisher) {
+		this(currentTraceContext, new BaggageFields(remoteFields, tagFields, Collections.emptyList()), publisher);
+	}
+
+	public OtelBaggageManager(CurrentTraceContext currentTraceContext, BaggageFields baggageFields,
+			ApplicationEventPublisher publisher) {
 		this.currentTraceContext = currentTraceContext;
-		this.remoteFields = remoteFields;
-		this.tagFields = tagFields;
+		this.baggageFields = baggageFields;
 		this.publisher = publisher;
 	}
 
@@ -87,17 +86,25 @@ public class OtelBaggageManager implements BaggageManager {
 	CompositeBaggage currentBaggage() {
 		OtelTraceContext traceContext = (OtelTraceContext) currentTraceContext.context();
 		Context context = Context.current();
-		Deque<Context> stack = new ArrayDeque<>();
-		if (traceContext != null) {
-			stack.addFirst(traceContext.context());
-		}
-		stack.addFirst(context);
-		return new CompositeBaggage(stack);
+		Context traceContextContext = traceContext != null ? traceContext.context() : null;
+		return new CompositeBaggage(context, traceContextContext);
 	}
 
 	@Override
 	public BaggageInScope getBaggage(String name) {
-		Entry entry = getBaggage(name, currentBaggage());
+		Context context = Context.current();
+		OtelTraceContext traceContext = (OtelTraceContext) currentTraceContext.context();
+		Context traceContextContext = traceContext != null ? traceContext.context() : null;
+		Baggage baggage = Baggage.fromContext(context);
+		EntryMatcher matcher = new EntryMatcher(name, null);
+		baggage.forEach(matcher);
+		if (traceContextContext != null && traceContextContext != context) {
+			// entries of the current context override the ones with the same key
+			EntryMatcher traceContextMatcher = new EntryMatcher(name, baggage);
+			Baggage.fromContext(traceContextContext).forEach(traceContextMatcher);
+			matcher = matcher.and(traceContextMatcher);
+		}
+		Entry entry = matcher.matches > 1 ? entryForName(name, currentBaggage()) : matcher.entry();
 		return createNewEntryIfMissing(name, entry);
 	}
 
@@ -145,12 +152,13 @@ public class OtelBaggageManager implements BaggageManager {
 	}
 
 	private Entry entryForName(String name, io.opentelemetry.api.baggage.Baggage baggage) {
-		return Entry.fromBaggage(baggage).stream().filter(e -> e.getKey().equalsIgnoreCase(name)).findFirst()
-				.orElse(null);
+		EntryMatcher matcher = new EntryMatcher(name, null);
+		baggage.forEach(matcher);
+		return matcher.entry();
 	}
 
 	private BaggageInScope otelBaggage(Entry entry) {
-		return new OtelBaggageInScope(this, this.currentTraceContext, this.tagFields, entry);
+		return new OtelBaggageInScope(this, this.currentTraceContext, this.baggageFields, entry);
 	}
 
 	@Override
@@ -165,11 +173,10 @@ public class OtelBaggageManager implements BaggageManager {
 	}
 
 	private BaggageInScope baggageWithValue(String name, @Nullable String value) {
-		boolean remoteField = this.remoteFields.stream().map(String::toLowerCase)
-				.anyMatch(s -> s.equals(name.toLowerCase()));
+		boolean remoteField = this.baggageFields.isRemote(name);
 		BaggageEntryMetadata entryMetadata = BaggageEntryMetadata.create(propagationString(remoteField));
 		Entry entry = new Entry(name, value, entryMetadata);
-		return new OtelBaggageInScope(this, this.currentTraceContext, this.tagFields, entry);
+		return new OtelBaggageInScope(this, this.currentTraceContext, this.baggageFields, entry);
 	}
 
 	private String propagationString(boolean remoteField) {
@@ -180,35 +187,88 @@ public class OtelBaggageManager implements BaggageManager {
 		return propagation;
 	}
 
+	/**
+	 * Finds the entries whose key matches a name regardless of case, without copying the
+	 * baggage. The first match wins, as it does when scanning the baggage.
+	 */
+	private static final class EntryMatcher implements BiConsumer<String, BaggageEntry> {
+
+		private final String name;
+
+		@Nullable
+		private final Baggage overriding;
+
+		private String key;
+
+		private BaggageEntry entry;
+
+		private int matches;
+
+		private EntryMatcher(String name, @Nullable Baggage overriding) {
+			this.name = name;
+			this.overriding = overriding;
+		}
+
+		@Override
+		public void accept(String key, BaggageEntry entry) {
+			if (!key.equalsIgnoreCase(this.name)
+					|| (this.overriding != null && this.overriding.getEntryValue(key) != null)) {
+				return;
+			}
+			if (this.matches++ == 0) {
+				this.key = key;
+				this.entry = entry;
+			}
+		}
+
+		private EntryMatcher and(EntryMatcher other) {
+			if (this.matches == 0) {
+				return other;
+			}
+			this.matches += other.matches;
+			return this;
+		}
+
+		@Nullable
+		private Entry entry() {
+			return this.entry != null ? new Entry(this.key, this.entry.getValue(), this.entry.getMetadata()) : null;
+		}
+
+	}
+
 }
 
 class CompositeBaggage implements io.opentelemetry.api.baggage.Baggage {
 
-	private final Collection<Entry> entries;
+	private final Map<String, Entry> entries;
+
+	private final Collection<Entry> entryValues;
 
 	private final Map<String, BaggageEntry> baggageEntries;
 
-	CompositeBaggage(Deque<Context> stack) {
-		this.entries = unmodifiableCollection(createEntries(stack));
-		this.baggageEntries = unmodifiableMap(this.entries.stream().collect(toMap(Entry::getKey, identity())));
+	CompositeBaggage(Context context, @Nullable Context traceContextContext) {
+		this.entries = createEntries(context, traceContextContext);
+		this.entryValues = unmodifiableCollection(this.entries.values());
+		this.baggageEntries = unmodifiableMap(this.entries);
 	}
 
-	private Collection<Entry> createEntries(Deque<Context> stack) {
+	private static Map<String, Entry> createEntries(Context context, @Nullable Context traceContextContext) {
 		// parent baggage foo=bar
 		// child baggage foo=baz - we want the last one to override the previous one
 		Map<String, Entry> map = new HashMap<>();
-		Iterator<Context> iterator = stack.descendingIterator();
-		while (iterator.hasNext()) {
-			Context next = iterator.next();
-			Baggage baggage = Baggage.fromContext(next);
-			baggage.forEach((key, value) -> map.put(key, new Entry(key, value.getValue(), value.getMetadata())));
+		if (traceContextContext != null && traceContextContext != context) {
+			putEntries(map, Baggage.fromContext(traceContextContext));
 		}
+		putEntries(map, Baggage.fromContext(context));
+		return map;
+	}
 
-		return map.values();
+	private static void putEntries(Map<String, Entry> map, Baggage baggage) {
+		baggage.forEach((key, value) -> map.put(key, new Entry(key, value.getValue(), value.getMetadata())));
 	}
 
 	Collection<Entry> getEntries() {
-		return this.entries;
+		return this.entryValues;
 	}
 
 	@Override
@@ -218,7 +278,7 @@ class CompositeBaggage implements io.opentelemetry.api.baggage.Baggage {
 
 	@Override
 	public void forEach(BiConsumer<? super String, ? super BaggageEntry> consumer) {
-		this.entries.forEach(entry -> consumer.accept(entry.getKey(), entry));
+		this.entries.forEach(consumer);
 	}
 
 	@Override
@@ -228,8 +288,8 @@ class CompositeBaggage implements io.opentelemetry.api.baggage.Baggage {
 
 	@Override
 	public String getEntryValue(String entryKey) {
-		return this.entries.stream().filter(entry -> entryKey.equals(entry.getKey())).map(Entry::getValue).findFirst()
-				.orElse(null);
+		Entry entry = this.entries.get(entryKey);
+		return entry != null ? entry.getValue() : null;
 	}
 
 	@Override
@@ -253,12 +313,6 @@ class Entry implements BaggageEntry {
 		this.entryMetadata = entryMetadata;
 	}
 
-	static List<Entry> fromBaggage(Baggage baggage) {
-		List<Entry> list = new ArrayList<>(baggage.size());
-		baggage.forEach((key, value) -> list.add(new Entry(key, value.getValue(), value.getMetadata())));
-		return list;
-	}
-
 	public String getKey() {
 		return this.key;
 	}
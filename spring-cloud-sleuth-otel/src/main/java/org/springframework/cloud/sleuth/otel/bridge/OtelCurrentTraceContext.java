@@ -60,32 +60,65 @@ public class OtelCurrentTraceContext implements CurrentTraceContext {
 		Context old = otelTraceContext.context();
 
 		Span currentSpan = Span.fromContext(current);
-		Span oldSpan = Span.fromContext(otelTraceContext.context());
+		Span oldSpan = current == old ? currentSpan : Span.fromContext(old);
 		SpanContext spanContext = otelTraceContext.delegate;
-		boolean sameSpan = currentSpan.getSpanContext().equals(oldSpan.getSpanContext())
-				&& currentSpan.getSpanContext().equals(spanContext);
-		SpanFromSpanContext fromContext = new SpanFromSpanContext(((OtelTraceContext) context).span, spanContext,
-				otelTraceContext);
+		boolean sameSpan = sameSpanContext(currentSpan.getSpanContext(), oldSpan.getSpanContext())
+				&& sameSpanContext(currentSpan.getSpanContext(), spanContext);
 
 		Baggage currentBaggage = Baggage.fromContext(current);
-		Baggage oldBaggage = Baggage.fromContext(old);
+		Baggage oldBaggage = current == old ? currentBaggage : Baggage.fromContext(old);
 		boolean sameBaggage = sameBaggage(currentBaggage, oldBaggage);
 
 		if (sameSpan && sameBaggage) {
 			return io.opentelemetry.context.Scope::noop;
 		}
 
-		BaggageBuilder baggageBuilder = currentBaggage.toBuilder();
-		oldBaggage.forEach(
-				(key, baggageEntry) -> baggageBuilder.put(key, baggageEntry.getValue(), baggageEntry.getMetadata()));
-		Baggage updatedBaggage = baggageBuilder.build();
+		SpanFromSpanContext fromContext = new SpanFromSpanContext(otelTraceContext.span, spanContext, otelTraceContext);
+		Baggage updatedBaggage = sameBaggage ? oldBaggage : mergeBaggage(currentBaggage, oldBaggage);
 
 		io.opentelemetry.context.Scope attach = old.with(fromContext).with(updatedBaggage).makeCurrent();
 		return attach::close;
 	}
 
+	private boolean sameSpanContext(SpanContext current, SpanContext old) {
+		return current == old || current.equals(old);
+	}
+
 	private boolean sameBaggage(Baggage currentBaggage, Baggage oldBaggage) {
-		return currentBaggage.equals(oldBaggage);
+		if (currentBaggage == oldBaggage) {
+			return true;
+		}
+		if (currentBaggage.size() != oldBaggage.size()) {
+			return false;
+		}
+		if (currentBaggage.getClass() == oldBaggage.getClass()) {
+			return currentBaggage.equals(oldBaggage);
+		}
+		// OpenTelemetry's baggage only equals baggage of its own type
+		return sameValues(currentBaggage, oldBaggage);
+	}
+
+	private static boolean sameValues(Baggage baggage, Baggage other) {
+		boolean[] same = { true };
+		baggage.forEach((key, entry) -> {
+			if (same[0] && !entry.getValue().equals(other.getEntryValue(key))) {
+				same[0] = false;
+			}
+		});
+		return same[0];
+	}
+
+	private Baggage mergeBaggage(Baggage currentBaggage, Baggage oldBaggage) {
+		if (oldBaggage.isEmpty()) {
+			return currentBaggage;
+		}
+		if (currentBaggage.isEmpty()) {
+			return oldBaggage;
+		}
+		BaggageBuilder baggageBuilder = currentBaggage.toBuilder();
+		oldBaggage.forEach(
+				(key, baggageEntry) -> baggageBuilder.put(key, baggageEntry.getValue(), baggageEntry.getMetadata()));
+		return baggageBuilder.build();
 	}
 
 	@Override
@@ -105,12 +138,12 @@ public class OtelCurrentTraceContext implements CurrentTraceContext {
 
 	@Override
 	public Executor wrap(Executor delegate) {
-		return Context.current().wrap(delegate);
+		return Context.taskWrapping(delegate);
 	}
 
 	@Override
 	public ExecutorService wrap(ExecutorService delegate) {
-		return Context.current().wrap(delegate);
+		return Context.taskWrapping(delegate);
 	}
 
 }
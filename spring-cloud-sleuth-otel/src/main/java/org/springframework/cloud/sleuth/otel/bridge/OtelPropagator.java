@@ -17,6 +17,7 @@
 package org.springframework.cloud.sleuth.otel.bridge;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import io.opentelemetry.api.trace.Tracer;
@@ -41,15 +42,18 @@ public class OtelPropagator implements Propagator {
 
 	private final Tracer tracer;
 
+	private final List<String> fields;
+
 	public OtelPropagator(ContextPropagators propagation, Tracer tracer) {
 		this.propagator = propagation.getTextMapPropagator();
 		this.tracer = tracer;
+		this.fields = Collections.unmodifiableList(new ArrayList<>(this.propagator.fields()));
 	}
 
 	@Override
 	public List<String> fields() {
 		// TODO: We should make Propagator::fields returning Collection<String>
-		return new ArrayList<>(this.propagator.fields());
+		return this.fields;
 	}
 
 	@Override
@@ -60,17 +64,8 @@ public class OtelPropagator implements Propagator {
 
 	@Override
 	public <C> Span.Builder extract(C carrier, Getter<C> getter) {
-		Context extracted = this.propagator.extract(Context.current(), carrier, new TextMapGetter<C>() {
-			@Override
-			public Iterable<String> keys(C carrier) {
-				return fields();
-			}
-
-			@Override
-			public String get(C carrier, String key) {
-				return getter.get(carrier, key);
-			}
-		});
+		Context extracted = this.propagator.extract(Context.current(), carrier,
+				new GetterAdapter<>(getter, this.fields));
 		io.opentelemetry.api.trace.Span span = io.opentelemetry.api.trace.Span.fromContextOrNull(extracted);
 		OtelTraceContext otelTraceContext = getOtelTraceContext(extracted, span);
 		return OtelSpanBuilder.fromOtel(this.tracer).setParent(otelTraceContext);
@@ -84,4 +79,27 @@ public class OtelPropagator implements Propagator {
 		return new OtelTraceContext(extracted, span.getSpanContext(), span);
 	}
 
+	private static final class GetterAdapter<C> implements TextMapGetter<C> {
+
+		private final Getter<C> getter;
+
+		private final List<String> fields;
+
+		private GetterAdapter(Getter<C> getter, List<String> fields) {
+			this.getter = getter;
+			this.fields = fields;
+		}
+
+		@Override
+		public Iterable<String> keys(C carrier) {
+			return this.fields;
+		}
+
+		@Override
+		public String get(C carrier, String key) {
+			return this.getter.get(carrier, key);
+		}
+
+	}
+
 }
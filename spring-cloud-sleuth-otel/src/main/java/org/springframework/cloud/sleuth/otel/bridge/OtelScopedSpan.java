@@ -34,6 +34,8 @@ class OtelScopedSpan implements ScopedSpan {
 
 	final Scope scope;
 
+	private volatile OtelTraceContext traceContext;
+
 	OtelScopedSpan(Span span, Scope scope) {
 		this.span = span;
 		this.scope = scope;
@@ -46,7 +48,12 @@ class OtelScopedSpan implements ScopedSpan {
 
 	@Override
 	public TraceContext context() {
-		return new OtelTraceContext(this.span);
+		OtelTraceContext traceContext = this.traceContext;
+		if (traceContext == null) {
+			traceContext = new OtelTraceContext(this.span);
+			this.traceContext = traceContext;
+		}
+		return traceContext;
 	}
 
 	@Override
@@ -57,7 +64,7 @@ class OtelScopedSpan implements ScopedSpan {
 
 	@Override
 	public ScopedSpan tag(String key, String value) {
-		this.span.setAttribute(key, value);
+		this.span.setAttribute(AttributeKeyCache.stringKey(key), value);
 		return this;
 	}
 
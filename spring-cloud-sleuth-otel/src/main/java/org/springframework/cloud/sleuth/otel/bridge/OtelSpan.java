@@ -38,11 +38,13 @@ class OtelSpan implements Span {
 
 	private final AtomicReference<Context> context;
 
+	private volatile OtelTraceContext traceContext;
+
 	OtelSpan(io.opentelemetry.api.trace.Span delegate) {
 		this.delegate = delegate;
 		if (delegate instanceof SpanFromSpanContext) {
 			SpanFromSpanContext fromSpanContext = (SpanFromSpanContext) delegate;
-			this.context = fromSpanContext.otelTraceContext.context;
+			this.context = fromSpanContext.context;
 		}
 		else {
 			this.context = new AtomicReference<>(Context.current());
@@ -50,8 +52,12 @@ class OtelSpan implements Span {
 	}
 
 	OtelSpan(io.opentelemetry.api.trace.Span delegate, Context context) {
+		this(delegate, new AtomicReference<>(context));
+	}
+
+	OtelSpan(io.opentelemetry.api.trace.Span delegate, AtomicReference<Context> context) {
 		this.delegate = delegate;
-		this.context = new AtomicReference<>(context);
+		this.context = context;
 	}
 
 	static io.opentelemetry.api.trace.Span toOtel(Span span) {
@@ -76,7 +82,13 @@ class OtelSpan implements Span {
 		if (this.delegate == null) {
 			return null;
 		}
-		return new OtelTraceContext(this.context, this.delegate.getSpanContext(), this.delegate);
+		OtelTraceContext traceContext = this.traceContext;
+		if (traceContext == null) {
+			// the context reference is shared, so racing threads build equivalent copies
+			traceContext = new OtelTraceContext(this.context, this.delegate.getSpanContext(), this.delegate);
+			this.traceContext = traceContext;
+		}
+		return traceContext;
 	}
 
 	@Override
@@ -88,26 +100,26 @@ class OtelSpan implements Span {
 	@Override
 	public Span name(String name) {
 		this.delegate.updateName(name);
-		return new OtelSpan(this.delegate);
+		return this;
 	}
 
 	@Override
 	public Span event(String value) {
 		this.delegate.addEvent(value);
-		return new OtelSpan(this.delegate);
+		return this;
 	}
 
 	@Override
 	public Span tag(String key, String value) {
-		this.delegate.setAttribute(key, value);
-		return new OtelSpan(this.delegate);
+		this.delegate.setAttribute(AttributeKeyCache.stringKey(key), value);
+		return this;
 	}
 
 	@Override
 	public Span error(Throwable throwable) {
 		this.delegate.recordException(throwable);
 		this.delegate.setStatus(StatusCode.ERROR, throwable.getMessage());
-		return new OtelSpan(this.delegate);
+		return this;
 	}
 
 	@Override
@@ -129,7 +141,7 @@ class OtelSpan implements Span {
 
 	@Override
 	public Span remoteServiceName(String remoteServiceName) {
-		this.delegate.setAttribute(OtelSpanBuilder.REMOTE_SERVICE_NAME_KEY, remoteServiceName);
+		this.delegate.setAttribute(OtelSpanBuilder.REMOTE_SERVICE_NAME_ATTRIBUTE_KEY, remoteServiceName);
 		return this;
 	}
 
@@ -16,9 +16,10 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.SpanBuilder;
@@ -40,11 +41,19 @@ class OtelSpanBuilder implements Span.Builder {
 
 	static final String REMOTE_SERVICE_NAME_KEY = "peer.service";
 
+	static final AttributeKey<String> REMOTE_SERVICE_NAME_ATTRIBUTE_KEY = AttributeKey
+			.stringKey(REMOTE_SERVICE_NAME_KEY);
+
 	private final Tracer tracer;
 
-	private final List<String> annotations = new LinkedList<>();
+	/**
+	 * Most spans get built with no or a couple of events.
+	 */
+	private static final int INITIAL_EVENTS_CAPACITY = 2;
+
+	private List<String> events;
 
-	private final AttributesBuilder attributes = Attributes.builder();
+	private AttributesBuilder attributes;
 
 	private String name;
 
@@ -84,13 +93,16 @@ class OtelSpanBuilder implements Span.Builder {
 
 	@Override
 	public Span.Builder event(String value) {
-		this.annotations.add(value);
+		if (this.events == null) {
+			this.events = new ArrayList<>(INITIAL_EVENTS_CAPACITY);
+		}
+		this.events.add(value);
 		return this;
 	}
 
 	@Override
 	public Span.Builder tag(String key, String value) {
-		this.attributes.put(key, value);
+		attributes().put(AttributeKeyCache.stringKey(key), value);
 		return this;
 	}
 
@@ -127,17 +139,25 @@ class OtelSpanBuilder implements Span.Builder {
 
 	@Override
 	public Span.Builder remoteServiceName(String remoteServiceName) {
-		this.attributes.put(REMOTE_SERVICE_NAME_KEY, remoteServiceName);
+		attributes().put(REMOTE_SERVICE_NAME_ATTRIBUTE_KEY, remoteServiceName);
 		return this;
 	}
 
 	@Override
 	public Span.Builder remoteIpAndPort(String ip, int port) {
-		this.attributes.put(SemanticAttributes.NET_SOCK_PEER_ADDR.getKey(), ip);
-		this.attributes.put(SemanticAttributes.NET_PEER_PORT.getKey(), port);
+		AttributesBuilder attributes = attributes();
+		attributes.put(SemanticAttributes.NET_SOCK_PEER_ADDR, ip);
+		attributes.put(SemanticAttributes.NET_PEER_PORT, (long) port);
 		return this;
 	}
 
+	private AttributesBuilder attributes() {
+		if (this.attributes == null) {
+			this.attributes = Attributes.builder();
+		}
+		return this.attributes;
+	}
+
 	@Override
 	public Span start() {
 		SpanBuilder spanBuilder = this.tracer.spanBuilder(StringUtils.hasText(this.name) ? this.name : "");
@@ -147,19 +167,41 @@ class OtelSpanBuilder implements Span.Builder {
 		if (this.noParent) {
 			spanBuilder.setNoParent();
 		}
-		spanBuilder.setAllAttributes(this.attributes.build());
+		boolean unsampledParent = hasUnsampledParent();
+		if (!unsampledParent && this.attributes != null) {
+			spanBuilder.setAllAttributes(this.attributes.build());
+		}
 		spanBuilder.setSpanKind(this.spanKind);
 		io.opentelemetry.api.trace.Span span = spanBuilder.startSpan();
+		if (unsampledParent) {
+			if (!span.isRecording()) {
+				// propagation only span, attributes and events would be dropped anyway
+				return new OtelSpan(span, ((OtelTraceContext) this.parentTraceContext).context);
+			}
+			// the sampler decided to record the child of an unsampled parent
+			if (this.attributes != null) {
+				span.setAllAttributes(this.attributes.build());
+			}
+		}
 		if (this.error != null) {
 			span.recordException(this.error);
 		}
-		this.annotations.forEach(span::addEvent);
-		Span otelSpan = OtelSpan.fromOtel(span);
+		if (this.events != null) {
+			// stamped by the tracer's clock, so that they fall within the span
+			for (String event : this.events) {
+				span.addEvent(event);
+			}
+		}
 		if (this.parentTraceContext != null) {
 			return OtelSpan.fromOtel(
 					new SpanFromSpanContext(span, span.getSpanContext(), (OtelTraceContext) this.parentTraceContext));
 		}
-		return otelSpan;
+		return OtelSpan.fromOtel(span);
+	}
+
+	private boolean hasUnsampledParent() {
+		return !this.noParent && this.parentTraceContext instanceof OtelTraceContext
+				&& !((OtelTraceContext) this.parentTraceContext).delegate.isSampled();
 	}
 
 }
@@ -40,7 +40,7 @@ public class OtelSpanCustomizer implements SpanCustomizer {
 
 	@Override
 	public SpanCustomizer tag(String key, String value) {
-		currentSpan().setAttribute(key, value);
+		currentSpan().setAttribute(AttributeKeyCache.stringKey(key), value);
 		return this;
 	}
 
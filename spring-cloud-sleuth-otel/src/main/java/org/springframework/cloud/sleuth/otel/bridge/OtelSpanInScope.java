@@ -44,11 +44,11 @@ class OtelSpanInScope implements Tracer.SpanInScope {
 	}
 
 	private Scope storedContext(io.opentelemetry.api.trace.Span otelSpan) {
-		if (this.sleuthSpan == null || this.sleuthSpan.context() == null
-				|| this.sleuthSpan.context().context() == null) {
+		OtelTraceContext traceContext = this.sleuthSpan != null ? this.sleuthSpan.context() : null;
+		Context context = traceContext != null ? traceContext.context() : null;
+		if (context == null) {
 			return otelSpan.makeCurrent();
 		}
-		Context context = this.sleuthSpan.context().context();
 		return context.with(otelSpan).makeCurrent();
 	}
 
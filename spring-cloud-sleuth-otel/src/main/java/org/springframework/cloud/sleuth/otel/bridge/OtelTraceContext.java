@@ -41,6 +41,8 @@ public class OtelTraceContext implements TraceContext {
 
 	final Span span;
 
+	private volatile String parentId;
+
 	OtelTraceContext(Context context, SpanContext delegate, @Nullable Span span) {
 		this(new AtomicReference<>(context), delegate, span);
 	}
@@ -62,7 +64,7 @@ public class OtelTraceContext implements TraceContext {
 	}
 
 	OtelTraceContext(SpanFromSpanContext span) {
-		this(span.otelTraceContext.context.get(), span.getSpanContext(), span);
+		this(span.context.get(), span.getSpanContext(), span);
 	}
 
 	public static TraceContext fromOtel(SpanContext traceContext) {
@@ -87,11 +89,13 @@ public class OtelTraceContext implements TraceContext {
 	@Override
 	@Nullable
 	public String parentId() {
-		if (this.span instanceof ReadableSpan) {
-			ReadableSpan readableSpan = (ReadableSpan) this.span;
-			return readableSpan.toSpanData().getParentSpanId();
+		String parentId = this.parentId;
+		if (parentId == null && this.span instanceof ReadableSpan) {
+			// toSpanData() would copy all attributes, events and links of a live span
+			parentId = ((ReadableSpan) this.span).getParentSpanContext().getSpanId();
+			this.parentId = parentId;
 		}
-		return null;
+		return parentId;
 	}
 
 	@Override
@@ -17,10 +17,8 @@
 package org.springframework.cloud.sleuth.otel.bridge;
 
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
 
 import io.opentelemetry.context.Context;
-import io.opentelemetry.context.Scope;
 
 import org.springframework.cloud.sleuth.BaggageInScope;
 import org.springframework.cloud.sleuth.BaggageManager;
@@ -47,6 +45,7 @@ public class OtelTracer implements Tracer {
 
 	private final BaggageManager otelBaggageManager;
 
+	// Not used
 	private final ApplicationEventPublisher publisher;
 
 	public OtelTracer(io.opentelemetry.api.trace.Tracer tracer, ApplicationEventPublisher publisher,
@@ -61,22 +60,14 @@ public class OtelTracer implements Tracer {
 		if (parent == null) {
 			return nextSpan();
 		}
-		OtelSpan otelSpan = getOtelSpan(parent);
-		AtomicReference<Context> context = otelSpan.context().context;
-		Context otelContext = context.get();
-		Scope scope = null;
-		if (otelContext != null) {
-			scope = otelContext.makeCurrent();
-		}
-		try {
-			return OtelSpan.fromOtel(this.tracer.spanBuilder("")
-					.setParent(OtelTraceContext.toOtelContext(parent.context())).startSpan());
-		}
-		finally {
-			if (scope != null) {
-				scope.close();
-			}
+		OtelTraceContext traceContext = getOtelSpan(parent).context();
+		Context otelContext = traceContext.context();
+		if (otelContext == null) {
+			otelContext = Context.current();
 		}
+		// the parent is taken from its stored context, the thread's scope stays as is
+		Context parentContext = otelContext.with(traceContext.span());
+		return OtelSpan.fromOtel(this.tracer.spanBuilder("").setParent(parentContext).startSpan(), otelContext);
 	}
 
 	private static OtelSpan getOtelSpan(Span parent) {
@@ -94,9 +85,8 @@ public class OtelTracer implements Tracer {
 
 	private io.opentelemetry.api.trace.Span delegate(Span span) {
 		if (span == null) {
-			// remove any existing span/baggage data from the current state of anything
-			// that might be holding on to it.
-			this.publisher.publishEvent(new EventPublishingContextWrapper.ScopeClosedEvent(this));
+			// scope listeners remove any existing span/baggage data when the invalid span
+			// gets attached
 			return io.opentelemetry.api.trace.Span.getInvalid();
 		}
 		return ((OtelSpan) AssertingSpan.unwrap(span)).delegate;
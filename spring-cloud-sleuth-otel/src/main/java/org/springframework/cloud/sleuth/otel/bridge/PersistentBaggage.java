@@ -0,0 +1,643 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageBuilder;
+import io.opentelemetry.api.baggage.BaggageEntry;
+import io.opentelemetry.api.baggage.BaggageEntryMetadata;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link Baggage} backed by a hash array mapped trie. Adding or removing an entry copies
+ * only the path to that entry, so it costs O(log n) and the new baggage shares the rest
+ * of its structure with the one it was derived from.
+ * <p>
+ * Entries are iterated in the order of their key hashes and not sorted by key, as they
+ * are in OpenTelemetry's baggage. Nothing in the W3C baggage format depends on the order
+ * of the entries. Like OpenTelemetry's baggage, instances are only equal to baggage of
+ * their own type.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+final class PersistentBaggage implements Baggage {
+
+	static final PersistentBaggage EMPTY = new PersistentBaggage(BitmapNode.EMPTY, 0);
+
+	private static final int BITS = 5;
+
+	private static final int MASK = (1 << BITS) - 1;
+
+	private final Node root;
+
+	private final int size;
+
+	private volatile Map<String, BaggageEntry> map;
+
+	private PersistentBaggage(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * @param baggage baggage to convert
+	 * @return the given baggage if it already is persistent, otherwise a persistent copy
+	 */
+	static PersistentBaggage of(Baggage baggage) {
+		if (baggage instanceof PersistentBaggage) {
+			return (PersistentBaggage) baggage;
+		}
+		return EMPTY.withAll(baggage);
+	}
+
+	PersistentBaggage with(String key, String value, BaggageEntryMetadata metadata) {
+		// same as the default builder, incomplete entries are ignored
+		if (key == null || value == null || metadata == null) {
+			return this;
+		}
+		int hash = hash(key);
+		Leaf existing = this.root.get(key, hash, 0);
+		if (existing != null && existing.value.equals(value) && existing.metadata.equals(metadata)) {
+			return this;
+		}
+		Node root = this.root.put(new Leaf(key, hash, value, metadata), 0);
+		return new PersistentBaggage(root, existing == null ? this.size + 1 : this.size);
+	}
+
+	PersistentBaggage withAll(Baggage baggage) {
+		if (baggage == this || baggage.isEmpty()) {
+			return this;
+		}
+		if (baggage instanceof PersistentBaggage) {
+			PersistentBaggage other = (PersistentBaggage) baggage;
+			if (isEmpty()) {
+				return other;
+			}
+			// baggage derived from this one shares most of its nodes, only the rest gets
+			// copied
+			int[] added = new int[1];
+			Node root = merge(this.root, other.root, 0, added);
+			return new PersistentBaggage(root, this.size + added[0]);
+		}
+		Builder builder = new Builder(this);
+		baggage.forEach((key, entry) -> builder.put(key, entry.getValue(), entry.getMetadata()));
+		return builder.build();
+	}
+
+	PersistentBaggage without(String key) {
+		if (key == null) {
+			return this;
+		}
+		int hash = hash(key);
+		if (this.root.get(key, hash, 0) == null) {
+			return this;
+		}
+		Node root = this.root.remove(key, hash, 0);
+		return new PersistentBaggage(root != null ? root : BitmapNode.EMPTY, this.size - 1);
+	}
+
+	private static int hash(String key) {
+		int hash = key.hashCode();
+		return hash ^ (hash >>> 16);
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super String, ? super BaggageEntry> consumer) {
+		this.root.forEach(consumer);
+	}
+
+	@Override
+	public Map<String, BaggageEntry> asMap() {
+		Map<String, BaggageEntry> map = this.map;
+		if (map == null) {
+			Map<String, BaggageEntry> entries = new HashMap<>((int) (this.size / 0.75f) + 1);
+			forEach(entries::put);
+			map = Collections.unmodifiableMap(entries);
+			this.map = map;
+		}
+		return map;
+	}
+
+	@Override
+	@Nullable
+	public String getEntryValue(String entryKey) {
+		if (entryKey == null) {
+			return null;
+		}
+		Leaf leaf = this.root.get(entryKey, hash(entryKey), 0);
+		return leaf != null ? leaf.value : null;
+	}
+
+	@Override
+	public BaggageBuilder toBuilder() {
+		return new Builder(this);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		PersistentBaggage that = (PersistentBaggage) o;
+		return this.size == that.size && (this.root == that.root || this.root.containedIn(that.root));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.root.entriesHashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "PersistentBaggage{" + asMap() + '}';
+	}
+
+	/**
+	 * Copies the entries of {@code from} into {@code into}, entries of {@code from} win.
+	 * Nodes present in both are not visited.
+	 */
+	private static Node merge(Node into, Node from, int shift, int[] added) {
+		if (into == from) {
+			return into;
+		}
+		if (into instanceof BitmapNode && from instanceof BitmapNode) {
+			return ((BitmapNode) into).merge((BitmapNode) from, shift, added);
+		}
+		Node[] merged = { into };
+		from.forEach((key, entry) -> {
+			Leaf leaf = (Leaf) entry;
+			if (merged[0].get(leaf.key, leaf.hash, shift) == null) {
+				added[0]++;
+			}
+			merged[0] = merged[0].put(leaf, shift);
+		});
+		return merged[0];
+	}
+
+	private static Object mergeSlots(Object slot, Object other, int shift, int[] added) {
+		if (slot == other) {
+			return slot;
+		}
+		if (other instanceof Leaf) {
+			Leaf leaf = (Leaf) other;
+			if (slot instanceof Leaf) {
+				Leaf existing = (Leaf) slot;
+				if (existing.key.equals(leaf.key)) {
+					return leaf;
+				}
+				added[0]++;
+				return BitmapNode.node(existing, leaf, shift);
+			}
+			Node node = (Node) slot;
+			if (node.get(leaf.key, leaf.hash, shift) == null) {
+				added[0]++;
+			}
+			return node.put(leaf, shift);
+		}
+		Node node = (Node) other;
+		if (slot instanceof Leaf) {
+			Leaf existing = (Leaf) slot;
+			added[0] += node.count();
+			if (node.get(existing.key, existing.hash, shift) != null) {
+				added[0]--;
+				return node;
+			}
+			return node.put(existing, shift);
+		}
+		return merge((Node) slot, node, shift, added);
+	}
+
+	private static int bit(int hash, int shift) {
+		return 1 << ((hash >>> shift) & MASK);
+	}
+
+	private static final class Builder implements BaggageBuilder {
+
+		private PersistentBaggage baggage;
+
+		private Builder(PersistentBaggage baggage) {
+			this.baggage = baggage;
+		}
+
+		@Override
+		public BaggageBuilder put(String key, String value, BaggageEntryMetadata entryMetadata) {
+			this.baggage = this.baggage.with(key, value, entryMetadata);
+			return this;
+		}
+
+		@Override
+		public BaggageBuilder remove(String key) {
+			this.baggage = this.baggage.without(key);
+			return this;
+		}
+
+		@Override
+		public PersistentBaggage build() {
+			return this.baggage;
+		}
+
+	}
+
+	private abstract static class Node {
+
+		@Nullable
+		abstract Leaf get(String key, int hash, int shift);
+
+		abstract Node put(Leaf leaf, int shift);
+
+		/**
+		 * @return {@code null} when the node becomes empty
+		 */
+		@Nullable
+		abstract Node remove(String key, int hash, int shift);
+
+		/**
+		 * @return the only leaf of this node, {@code null} when there are more entries
+		 */
+		@Nullable
+		abstract Leaf singleLeaf();
+
+		abstract void forEach(BiConsumer<? super String, ? super BaggageEntry> consumer);
+
+		/**
+		 * @param other root of the baggage to look the entries up in
+		 * @return {@code true} if {@code other} has equal entries for all keys of this
+		 * node
+		 */
+		abstract boolean containedIn(Node other);
+
+		/**
+		 * @return the sum of the hash codes of the entries, as {@link Map#hashCode()}
+		 * computes it
+		 */
+		abstract int entriesHashCode();
+
+		int count() {
+			int[] count = new int[1];
+			forEach((key, entry) -> count[0]++);
+			return count[0];
+		}
+
+	}
+
+	private static final class BitmapNode extends Node {
+
+		private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+		private final int bitmap;
+
+		// either a Leaf or a Node
+		private final Object[] slots;
+
+		private BitmapNode(int bitmap, Object[] slots) {
+			this.bitmap = bitmap;
+			this.slots = slots;
+		}
+
+		private int index(int bit) {
+			return Integer.bitCount(this.bitmap & (bit - 1));
+		}
+
+		@Override
+		Leaf get(String key, int hash, int shift) {
+			int bit = bit(hash, shift);
+			if ((this.bitmap & bit) == 0) {
+				return null;
+			}
+			Object slot = this.slots[index(bit)];
+			if (slot instanceof Leaf) {
+				Leaf leaf = (Leaf) slot;
+				return leaf.key.equals(key) ? leaf : null;
+			}
+			return ((Node) slot).get(key, hash, shift + BITS);
+		}
+
+		@Override
+		Node put(Leaf leaf, int shift) {
+			int bit = bit(leaf.hash, shift);
+			int index = index(bit);
+			if ((this.bitmap & bit) == 0) {
+				Object[] slots = new Object[this.slots.length + 1];
+				System.arraycopy(this.slots, 0, slots, 0, index);
+				slots[index] = leaf;
+				System.arraycopy(this.slots, index, slots, index + 1, this.slots.length - index);
+				return new BitmapNode(this.bitmap | bit, slots);
+			}
+			Object slot = this.slots[index];
+			if (slot instanceof Leaf) {
+				Leaf existing = (Leaf) slot;
+				if (existing.key.equals(leaf.key)) {
+					return replace(index, leaf);
+				}
+				return replace(index, node(existing, leaf, shift + BITS));
+			}
+			return replace(index, ((Node) slot).put(leaf, shift + BITS));
+		}
+
+		private static Node node(Leaf first, Leaf second, int shift) {
+			if (first.hash == second.hash) {
+				return new CollisionNode(first.hash, new Leaf[] { first, second });
+			}
+			return EMPTY.put(first, shift).put(second, shift);
+		}
+
+		private BitmapNode replace(int index, Object slot) {
+			Object[] slots = this.slots.clone();
+			slots[index] = slot;
+			return new BitmapNode(this.bitmap, slots);
+		}
+
+		@Override
+		Node remove(String key, int hash, int shift) {
+			int bit = bit(hash, shift);
+			if ((this.bitmap & bit) == 0) {
+				return this;
+			}
+			int index = index(bit);
+			Object slot = this.slots[index];
+			if (slot instanceof Leaf) {
+				if (!((Leaf) slot).key.equals(key)) {
+					return this;
+				}
+				return without(bit, index);
+			}
+			Node node = (Node) slot;
+			Node removed = node.remove(key, hash, shift + BITS);
+			if (removed == node) {
+				return this;
+			}
+			if (removed == null) {
+				return without(bit, index);
+			}
+			// pull single entries up, so that lookups do not walk empty levels
+			Leaf single = removed.singleLeaf();
+			return replace(index, single != null ? single : removed);
+		}
+
+		@Nullable
+		private BitmapNode without(int bit, int index) {
+			if (this.slots.length == 1) {
+				return null;
+			}
+			Object[] slots = new Object[this.slots.length - 1];
+			System.arraycopy(this.slots, 0, slots, 0, index);
+			System.arraycopy(this.slots, index + 1, slots, index, slots.length - index);
+			return new BitmapNode(this.bitmap & ~bit, slots);
+		}
+
+		@Override
+		Leaf singleLeaf() {
+			if (this.slots.length == 1 && this.slots[0] instanceof Leaf) {
+				return (Leaf) this.slots[0];
+			}
+			return null;
+		}
+
+		@Override
+		void forEach(BiConsumer<? super String, ? super BaggageEntry> consumer) {
+			for (Object slot : this.slots) {
+				if (slot instanceof Leaf) {
+					Leaf leaf = (Leaf) slot;
+					consumer.accept(leaf.key, leaf);
+				}
+				else {
+					((Node) slot).forEach(consumer);
+				}
+			}
+		}
+
+		@Override
+		boolean containedIn(Node other) {
+			for (Object slot : this.slots) {
+				if (slot instanceof Leaf) {
+					if (!((Leaf) slot).containedIn(other)) {
+						return false;
+					}
+				}
+				else if (!((Node) slot).containedIn(other)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		int entriesHashCode() {
+			int hashCode = 0;
+			for (Object slot : this.slots) {
+				hashCode += slot instanceof Leaf ? ((Leaf) slot).entryHashCode() : ((Node) slot).entriesHashCode();
+			}
+			return hashCode;
+		}
+
+		private BitmapNode merge(BitmapNode from, int shift, int[] added) {
+			int bitmap = this.bitmap | from.bitmap;
+			Object[] slots = new Object[Integer.bitCount(bitmap)];
+			int index = 0;
+			for (int remaining = bitmap; remaining != 0; remaining &= remaining - 1) {
+				int bit = remaining & -remaining;
+				Object slot = (this.bitmap & bit) != 0 ? this.slots[index(bit)] : null;
+				Object other = (from.bitmap & bit) != 0 ? from.slots[from.index(bit)] : null;
+				if (slot == null) {
+					added[0] += other instanceof Leaf ? 1 : ((Node) other).count();
+					slots[index++] = other;
+				}
+				else {
+					slots[index++] = other == null ? slot : mergeSlots(slot, other, shift + BITS, added);
+				}
+			}
+			return new BitmapNode(bitmap, slots);
+		}
+
+	}
+
+	/**
+	 * Entries whose keys have the same hash.
+	 */
+	private static final class CollisionNode extends Node {
+
+		private final int hash;
+
+		private final Leaf[] leaves;
+
+		private CollisionNode(int hash, Leaf[] leaves) {
+			this.hash = hash;
+			this.leaves = leaves;
+		}
+
+		private int indexOf(String key) {
+			for (int i = 0; i < this.leaves.length; i++) {
+				if (this.leaves[i].key.equals(key)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		Leaf get(String key, int hash, int shift) {
+			if (hash != this.hash) {
+				return null;
+			}
+			int index = indexOf(key);
+			return index >= 0 ? this.leaves[index] : null;
+		}
+
+		@Override
+		Node put(Leaf leaf, int shift) {
+			if (leaf.hash != this.hash) {
+				return new BitmapNode(bit(this.hash, shift), new Object[] { this }).put(leaf, shift);
+			}
+			int index = indexOf(leaf.key);
+			Leaf[] leaves;
+			if (index >= 0) {
+				leaves = this.leaves.clone();
+				leaves[index] = leaf;
+			}
+			else {
+				leaves = new Leaf[this.leaves.length + 1];
+				System.arraycopy(this.leaves, 0, leaves, 0, this.leaves.length);
+				leaves[this.leaves.length] = leaf;
+			}
+			return new CollisionNode(this.hash, leaves);
+		}
+
+		@Override
+		Node remove(String key, int hash, int shift) {
+			int index = hash == this.hash ? indexOf(key) : -1;
+			if (index < 0) {
+				return this;
+			}
+			if (this.leaves.length == 1) {
+				return null;
+			}
+			Leaf[] leaves = new Leaf[this.leaves.length - 1];
+			System.arraycopy(this.leaves, 0, leaves, 0, index);
+			System.arraycopy(this.leaves, index + 1, leaves, index, leaves.length - index);
+			return new CollisionNode(this.hash, leaves);
+		}
+
+		@Override
+		Leaf singleLeaf() {
+			return this.leaves.length == 1 ? this.leaves[0] : null;
+		}
+
+		@Override
+		void forEach(BiConsumer<? super String, ? super BaggageEntry> consumer) {
+			for (Leaf leaf : this.leaves) {
+				consumer.accept(leaf.key, leaf);
+			}
+		}
+
+		@Override
+		boolean containedIn(Node other) {
+			for (Leaf leaf : this.leaves) {
+				if (!leaf.containedIn(other)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		int entriesHashCode() {
+			int hashCode = 0;
+			for (Leaf leaf : this.leaves) {
+				hashCode += leaf.entryHashCode();
+			}
+			return hashCode;
+		}
+
+	}
+
+	private static final class Leaf implements BaggageEntry {
+
+		private final String key;
+
+		private final int hash;
+
+		private final String value;
+
+		private final BaggageEntryMetadata metadata;
+
+		private Leaf(String key, int hash, String value, BaggageEntryMetadata metadata) {
+			this.key = key;
+			this.hash = hash;
+			this.value = value;
+			this.metadata = metadata;
+		}
+
+		@Override
+		public String getValue() {
+			return this.value;
+		}
+
+		@Override
+		public BaggageEntryMetadata getMetadata() {
+			return this.metadata;
+		}
+
+		private boolean containedIn(Node root) {
+			Leaf other = root.get(this.key, this.hash, 0);
+			return other != null && equals(other);
+		}
+
+		private int entryHashCode() {
+			return this.key.hashCode() ^ hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Leaf leaf = (Leaf) o;
+			return this.value.equals(leaf.value) && this.metadata.equals(leaf.metadata);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.value, this.metadata);
+		}
+
+		@Override
+		public String toString() {
+			return "Entry{" + "value='" + this.value + '\'' + ", metadata=" + this.metadata + '}';
+		}
+
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import io.opentelemetry.context.Context;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Gets notified by the {@link EventPublishingContextWrapper} about every scope change.
+ * Called directly on the thread that changes the scope, so implementations should be
+ * cheap.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+public interface ScopeListener {
+
+	/**
+	 * Called when a context got attached.
+	 * @param context attached context
+	 */
+	default void onScopeAttached(@Nullable Context context) {
+
+	}
+
+	/**
+	 * Called when a scope got closed, before the previous context gets restored.
+	 */
+	default void onScopeClosed() {
+
+	}
+
+	/**
+	 * Called when the context that was current before the closed scope got restored.
+	 * @param context restored context
+	 */
+	default void onScopeRestored(@Nullable Context context) {
+
+	}
+
+	/**
+	 * Listeners that have nothing to do, e.g. because of their configuration, are not
+	 * called at all. When there is nothing else to notify, scope changes cost exactly
+	 * what they cost without the {@link EventPublishingContextWrapper}.
+	 * @return {@code true} when this listener does nothing
+	 */
+	default boolean isNoop() {
+		return false;
+	}
+
+}
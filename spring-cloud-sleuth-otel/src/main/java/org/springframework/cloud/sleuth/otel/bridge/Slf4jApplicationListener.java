@@ -17,57 +17,65 @@
 package org.springframework.cloud.sleuth.otel.bridge;
 
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.slf4j.MDC;
 
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 
-public class Slf4jApplicationListener implements ApplicationListener<ApplicationEvent> {
+public class Slf4jApplicationListener implements ApplicationListener<ApplicationEvent>, ScopeListener {
 
 	private static final Log log = LogFactory.getLog(Slf4jApplicationListener.class);
 
-	private void onScopeAttached(EventPublishingContextWrapper.ScopeAttachedEvent event) {
+	private static final String TRACE_ID = "traceId";
+
+	private static final String SPAN_ID = "spanId";
+
+	@Override
+	public void onScopeAttached(Context context) {
 		if (log.isTraceEnabled()) {
-			log.trace("Got scope changed event [" + event + "]");
-		}
-		Span span = event.getSpan();
-		if (span != null) {
-			MDC.put("traceId", span.getSpanContext().getTraceId());
-			MDC.put("spanId", span.getSpanContext().getSpanId());
+			log.trace("Got scope changed event [" + context + "]");
 		}
+		Span span = Span.fromContextOrNull(context);
+		// e.g. scoping a null span attaches the invalid one
+		boolean valid = span != null && span.getSpanContext().isValid();
+		MdcSynchronizer.update(TRACE_ID, valid ? span.getSpanContext().getTraceId() : null);
+		MdcSynchronizer.update(SPAN_ID, valid ? span.getSpanContext().getSpanId() : null);
 	}
 
-	private void onScopeRestored(EventPublishingContextWrapper.ScopeRestoredEvent event) {
+	@Override
+	public void onScopeRestored(Context context) {
 		if (log.isTraceEnabled()) {
-			log.trace("Got scope restored event [" + event + "]");
-		}
-		Span span = event.getSpan();
-		if (span != null) {
-			MDC.put("traceId", span.getSpanContext().getTraceId());
-			MDC.put("spanId", span.getSpanContext().getSpanId());
+			log.trace("Got scope restored event [" + context + "]");
 		}
+		Span span = Span.fromContextOrNull(context);
+		MdcSynchronizer.update(TRACE_ID, span != null ? span.getSpanContext().getTraceId() : null);
+		MdcSynchronizer.update(SPAN_ID, span != null ? span.getSpanContext().getSpanId() : null);
 	}
 
-	private void onScopeClosed(EventPublishingContextWrapper.ScopeClosedEvent event) {
+	/**
+	 * A scope closed by the context storage is always followed by the restored one, which
+	 * brings the MDC to the state of the restored context. Clearing the ids here would
+	 * only make the restore put them back.
+	 */
+	@Override
+	public void onScopeClosed() {
 		if (log.isTraceEnabled()) {
-			log.trace("Got scope closed event [" + event + "]");
+			log.trace("Got scope closed event");
 		}
-		MDC.remove("traceId");
-		MDC.remove("spanId");
 	}
 
 	@Override
 	public void onApplicationEvent(ApplicationEvent event) {
 		if (event instanceof EventPublishingContextWrapper.ScopeAttachedEvent) {
-			onScopeAttached((EventPublishingContextWrapper.ScopeAttachedEvent) event);
+			onScopeAttached(((EventPublishingContextWrapper.ScopeAttachedEvent) event).context);
 		}
 		else if (event instanceof EventPublishingContextWrapper.ScopeClosedEvent) {
-			onScopeClosed((EventPublishingContextWrapper.ScopeClosedEvent) event);
+			onScopeClosed();
 		}
 		else if (event instanceof EventPublishingContextWrapper.ScopeRestoredEvent) {
-			onScopeRestored((EventPublishingContextWrapper.ScopeRestoredEvent) event);
+			onScopeRestored(((EventPublishingContextWrapper.ScopeRestoredEvent) event).context);
 		}
 	}
 
@@ -16,76 +16,108 @@
 
 package org.springframework.cloud.sleuth.otel.bridge;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import io.opentelemetry.api.baggage.Baggage;
 import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.slf4j.MDC;
 
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 
-public class Slf4jBaggageApplicationListener implements ApplicationListener<ApplicationEvent> {
+public class Slf4jBaggageApplicationListener implements ApplicationListener<ApplicationEvent>, ScopeListener {
 
 	private static final Log log = LogFactory.getLog(Slf4jBaggageApplicationListener.class);
 
-	private final List<String> lowerCaseCorrelationFields;
-
-	private final List<String> correlationFields;
+	private final BaggageFields baggageFields;
 
 	public Slf4jBaggageApplicationListener(List<String> correlationFields) {
-		this.lowerCaseCorrelationFields = correlationFields.stream().map(String::toLowerCase)
-				.collect(Collectors.toList());
-		this.correlationFields = correlationFields;
+		this(new BaggageFields(Collections.emptyList(), Collections.emptyList(), correlationFields));
+	}
+
+	public Slf4jBaggageApplicationListener(BaggageFields baggageFields) {
+		this.baggageFields = baggageFields;
 	}
 
-	private void onScopeAttached(EventPublishingContextWrapper.ScopeAttachedEvent event) {
+	@Override
+	public void onScopeAttached(Context context) {
 		if (log.isTraceEnabled()) {
-			log.trace("Got scope attached event [" + event + "]");
+			log.trace("Got scope attached event [" + context + "]");
 		}
-		Span span = event.getSpan();
-		if (event.getBaggage() != null && span != null && span.getSpanContext().isValid()) {
-			putEntriesIntoMdc(event.getBaggage());
+		Baggage baggage = Baggage.fromContextOrNull(context);
+		Span span = Span.fromContextOrNull(context);
+		if (span == null) {
+			return;
+		}
+		if (!span.getSpanContext().isValid()) {
+			// scoping a null span attaches the invalid one
+			removeEntriesFromMdc();
+		}
+		else if (baggage != null) {
+			putEntriesIntoMdc(baggage);
 		}
 	}
 
-	private void onScopeRestored(EventPublishingContextWrapper.ScopeRestoredEvent event) {
+	@Override
+	public void onScopeRestored(Context context) {
 		if (log.isTraceEnabled()) {
-			log.trace("Got scope restored event [" + event + "]");
+			log.trace("Got scope restored event [" + context + "]");
+		}
+		Baggage baggage = Baggage.fromContextOrNull(context);
+		if (baggage == null) {
+			baggage = Baggage.empty();
 		}
-		if (event.getBaggage() != null) {
-			putEntriesIntoMdc(event.getBaggage());
+		for (String field : this.baggageFields.getCorrelationFields()) {
+			if (baggage.getEntryValue(field) == null) {
+				MdcSynchronizer.update(field, null);
+			}
+		}
+		putEntriesIntoMdc(baggage);
+	}
+
+	private void removeEntriesFromMdc() {
+		for (String field : this.baggageFields.getCorrelationFields()) {
+			MdcSynchronizer.update(field, null);
 		}
 	}
 
 	private void putEntriesIntoMdc(Baggage baggage) {
 		baggage.forEach((key, baggageEntry) -> {
-			if (lowerCaseCorrelationFields.contains(key.toLowerCase())) {
-				MDC.put(key, baggageEntry.getValue());
+			if (this.baggageFields.isCorrelation(key)) {
+				MdcSynchronizer.update(key, baggageEntry.getValue());
 			}
 		});
 	}
 
-	private void onScopeClosed(EventPublishingContextWrapper.ScopeClosedEvent event) {
+	/**
+	 * A scope closed by the context storage is always followed by the restored one, which
+	 * brings the MDC to the state of the restored context's baggage.
+	 */
+	@Override
+	public void onScopeClosed() {
 		if (log.isTraceEnabled()) {
-			log.trace("Got scope closed event [" + event + "]");
+			log.trace("Got scope closed event");
 		}
-		correlationFields.forEach(MDC::remove);
+	}
+
+	@Override
+	public boolean isNoop() {
+		return this.baggageFields.getCorrelationFields().isEmpty();
 	}
 
 	@Override
 	public void onApplicationEvent(ApplicationEvent event) {
 		if (event instanceof EventPublishingContextWrapper.ScopeAttachedEvent) {
-			onScopeAttached((EventPublishingContextWrapper.ScopeAttachedEvent) event);
+			onScopeAttached(((EventPublishingContextWrapper.ScopeAttachedEvent) event).context);
 		}
 		else if (event instanceof EventPublishingContextWrapper.ScopeClosedEvent) {
-			onScopeClosed((EventPublishingContextWrapper.ScopeClosedEvent) event);
+			onScopeClosed();
 		}
 		else if (event instanceof EventPublishingContextWrapper.ScopeRestoredEvent) {
-			onScopeRestored((EventPublishingContextWrapper.ScopeRestoredEvent) event);
+			onScopeRestored(((EventPublishingContextWrapper.ScopeRestoredEvent) event).context);
 		}
 	}
 
@@ -19,6 +19,7 @@ package org.springframework.cloud.sleuth.otel.bridge;
 import java.time.Instant;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
@@ -34,13 +35,26 @@ class SpanFromSpanContext implements io.opentelemetry.api.trace.Span {
 
 	final SpanContext newSpanContext;
 
-	final OtelTraceContext otelTraceContext;
+	final AtomicReference<Context> context;
 
 	SpanFromSpanContext(io.opentelemetry.api.trace.Span span, SpanContext newSpanContext,
 			OtelTraceContext otelTraceContext) {
-		this.span = span != null ? span : io.opentelemetry.api.trace.Span.wrap(newSpanContext);
+		this.span = unwrap(span != null ? span : io.opentelemetry.api.trace.Span.wrap(newSpanContext));
 		this.newSpanContext = newSpanContext;
-		this.otelTraceContext = otelTraceContext;
+		// only the stored context is needed, keeping the trace context would retain
+		// every previous wrapper
+		this.context = otelTraceContext.context;
+	}
+
+	/**
+	 * Wrappers always delegate to the actual span, so re-wrapping the current span on
+	 * every reactive operator hop does not grow a chain of delegates.
+	 */
+	private static io.opentelemetry.api.trace.Span unwrap(io.opentelemetry.api.trace.Span span) {
+		if (span instanceof SpanFromSpanContext) {
+			return ((SpanFromSpanContext) span).span;
+		}
+		return span;
 	}
 
 	@Override
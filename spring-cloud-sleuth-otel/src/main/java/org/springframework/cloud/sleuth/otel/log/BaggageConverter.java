@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.otel.log;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.opentelemetry.context.Context;
+
+/**
+ * Logback converter of a baggage entry of the current OpenTelemetry {@link Context},
+ * empty when there is no such entry. Register it in the Logback configuration, e.g.
+ * {@code <conversionRule conversionWord="baggage" converterClass=
+ * "org.springframework.cloud.sleuth.otel.log.BaggageConverter"/>}, and use
+ * {@code %baggage{key}} instead of {@code %X{key}} in the pattern.
+ *
+ * The key is matched regardless of case. Once {@link ContextLogCorrelation} is installed,
+ * only its correlation fields get converted, same as they get copied into the MDC.
+ *
+ * The entry is read on the thread that formats the event, so the converter does not work
+ * behind an {@code AsyncAppender}.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+public class BaggageConverter extends ClassicConverter {
+
+	private String key;
+
+	@Override
+	public void start() {
+		this.key = getFirstOption();
+		if (this.key == null) {
+			addError("Missing baggage key, use %baggage{key}");
+			return;
+		}
+		super.start();
+	}
+
+	@Override
+	public String convert(ILoggingEvent event) {
+		if (this.key == null) {
+			return "";
+		}
+		String value = ContextLogCorrelation.baggageValue(Context.current(), this.key);
+		return value != null ? value : "";
+	}
+
+}
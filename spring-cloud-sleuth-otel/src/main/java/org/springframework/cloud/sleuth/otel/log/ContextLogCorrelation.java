@@ -0,0 +1,171 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.otel.log;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
+import org.springframework.lang.Nullable;
+
+/**
+ * Log correlation that reads the trace id, span id and baggage correlation fields from
+ * the OpenTelemetry {@link Context} when a log event is created or formatted, instead of
+ * copying them into the MDC on every scope change. Scopes change far more often than
+ * anything gets logged.
+ *
+ * Logging frameworks instantiate their extensions reflectively, so the correlation fields
+ * are held statically between {@link #install(BaggageFields)} and {@link #close()}. The
+ * Logback converters work without being installed, the Log4j2
+ * {@link OtelContextDataProvider} supplies nothing until then.
+ *
+ * Since the fields are static, only one application context per class loader can install
+ * its correlation fields. The last {@link #install(BaggageFields)} wins and applies to
+ * all contexts sharing the logging framework. Closing a handle that was replaced in the
+ * meantime leaves the newer fields installed.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+public final class ContextLogCorrelation implements AutoCloseable {
+
+	/**
+	 * Key of the trace id, same as in the MDC.
+	 */
+	public static final String TRACE_ID = "traceId";
+
+	/**
+	 * Key of the span id, same as in the MDC.
+	 */
+	public static final String SPAN_ID = "spanId";
+
+	@Nullable
+	private static volatile BaggageFields installed;
+
+	private final BaggageFields baggageFields;
+
+	private ContextLogCorrelation(BaggageFields baggageFields) {
+		this.baggageFields = baggageFields;
+	}
+
+	/**
+	 * Makes log correlation read from the current context.
+	 * @param baggageFields fields whose correlation baggage gets added to log events
+	 * @return handle to uninstall the correlation with
+	 */
+	public static ContextLogCorrelation install(BaggageFields baggageFields) {
+		installed = baggageFields;
+		return new ContextLogCorrelation(baggageFields);
+	}
+
+	/**
+	 * @return {@code true} when log correlation reads from the current context
+	 */
+	public static boolean isInstalled() {
+		return installed != null;
+	}
+
+	@Nullable
+	static String traceId(Context context) {
+		SpanContext spanContext = spanContext(context);
+		return spanContext != null ? spanContext.getTraceId() : null;
+	}
+
+	@Nullable
+	static String spanId(Context context) {
+		SpanContext spanContext = spanContext(context);
+		return spanContext != null ? spanContext.getSpanId() : null;
+	}
+
+	@Nullable
+	private static SpanContext spanContext(Context context) {
+		SpanContext spanContext = Span.fromContext(context).getSpanContext();
+		return spanContext.isValid() ? spanContext : null;
+	}
+
+	/**
+	 * @param context context to read from
+	 * @param key baggage key, matched regardless of case like the correlation fields
+	 * @return value of the baggage entry, {@code null} when there is none or when the key
+	 * is not a correlation field of the installed correlation
+	 */
+	@Nullable
+	static String baggageValue(Context context, String key) {
+		BaggageFields baggageFields = installed;
+		if (baggageFields != null && !baggageFields.isCorrelation(key)) {
+			return null;
+		}
+		Baggage baggage = Baggage.fromContext(context);
+		String value = baggage.getEntryValue(key);
+		if (value != null) {
+			return value;
+		}
+		String[] match = new String[1];
+		baggage.forEach((entryKey, entry) -> {
+			if (match[0] == null && entryKey.equalsIgnoreCase(key)) {
+				match[0] = entry.getValue();
+			}
+		});
+		return match[0];
+	}
+
+	/**
+	 * @param context context to read from
+	 * @return ids and correlation baggage of the given context, empty when not installed
+	 */
+	static Map<String, String> contextData(Context context) {
+		BaggageFields baggageFields = installed;
+		if (baggageFields == null) {
+			return Collections.emptyMap();
+		}
+		SpanContext spanContext = spanContext(context);
+		Baggage baggage = Baggage.fromContextOrNull(context);
+		if (spanContext == null && baggage == null) {
+			return Collections.emptyMap();
+		}
+		Map<String, String> data = new HashMap<>();
+		if (spanContext != null) {
+			data.put(TRACE_ID, spanContext.getTraceId());
+			data.put(SPAN_ID, spanContext.getSpanId());
+		}
+		if (baggage != null && !baggageFields.getCorrelationFields().isEmpty()) {
+			baggage.forEach((key, entry) -> {
+				if (baggageFields.isCorrelation(key)) {
+					data.put(key, entry.getValue());
+				}
+			});
+		}
+		return data;
+	}
+
+	/**
+	 * Stops log correlation from reading the current context, unless it was installed
+	 * again in the meantime.
+	 */
+	@Override
+	public void close() {
+		if (installed == this.baggageFields) {
+			installed = null;
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.otel.log;
+
+import java.util.Map;
+
+import io.opentelemetry.context.Context;
+import org.apache.logging.log4j.core.util.ContextDataProvider;
+
+/**
+ * Log4j2 {@link ContextDataProvider} that adds the trace id, span id and baggage
+ * correlation fields of the current OpenTelemetry {@link Context} to every log event, so
+ * that {@code %X{traceId}} keeps working without the MDC listeners. Registered through
+ * {@code META-INF/services}, it supplies nothing until {@link ContextLogCorrelation} is
+ * installed.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+public class OtelContextDataProvider implements ContextDataProvider {
+
+	@Override
+	public Map<String, String> supplyContextData() {
+		return ContextLogCorrelation.contextData(Context.current());
+	}
+
+}
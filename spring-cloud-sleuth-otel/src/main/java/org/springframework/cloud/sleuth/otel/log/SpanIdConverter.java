@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.otel.log;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.opentelemetry.context.Context;
+
+/**
+ * Logback converter of the span id of the current OpenTelemetry {@link Context}, empty
+ * when there is no valid span. Register it in the Logback configuration, e.g.
+ * {@code <conversionRule conversionWord="spanId" converterClass=
+ * "org.springframework.cloud.sleuth.otel.log.SpanIdConverter"/>}, and use {@code %spanId}
+ * instead of {@code %X{spanId}} in the pattern.
+ *
+ * The id is read on the thread that formats the event, so the converter does not work
+ * behind an {@code AsyncAppender}.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+public class SpanIdConverter extends ClassicConverter {
+
+	@Override
+	public String convert(ILoggingEvent event) {
+		String spanId = ContextLogCorrelation.spanId(Context.current());
+		return spanId != null ? spanId : "";
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.otel.propagation;
+
+import java.util.Collection;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import io.opentelemetry.extension.trace.propagation.B3Propagator;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * B3 single header propagator that parses the {@code b3} header directly from the
+ * received value, validating it in place with {@link BigendianEncoding}, instead of
+ * splitting it into parts. The only objects created on extraction are the trace and span
+ * ids held by the extracted span context; 64-bit trace ids are padded in a reusable
+ * per-thread buffer. Debug ({@code d}) and sampling-only headers, as well as requests
+ * with multiple B3 headers, are handed to the configured {@link B3Propagator}, which also
+ * does the injection as it already writes through a reusable per-thread buffer.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+final class B3SingleHeaderPropagator implements TextMapPropagator {
+
+	private static final String B3 = "b3";
+
+	private static final int TRACE_ID_LENGTH = 32;
+
+	private static final int SHORT_TRACE_ID_LENGTH = 16;
+
+	private static final int SPAN_ID_LENGTH = 16;
+
+	private static final ThreadLocal<char[]> TRACE_ID_BUFFER = ThreadLocal.withInitial(() -> {
+		char[] buffer = new char[TRACE_ID_LENGTH];
+		for (int i = 0; i < TRACE_ID_LENGTH - SHORT_TRACE_ID_LENGTH; i++) {
+			buffer[i] = '0';
+		}
+		return buffer;
+	});
+
+	private final TextMapPropagator delegate;
+
+	/**
+	 * @param delegate the {@link B3Propagator} that injects headers and extracts the
+	 * headers this propagator does not parse itself
+	 */
+	B3SingleHeaderPropagator(TextMapPropagator delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public Collection<String> fields() {
+		return this.delegate.fields();
+	}
+
+	@Override
+	public <C> void inject(Context context, @Nullable C carrier, TextMapSetter<C> setter) {
+		this.delegate.inject(context, carrier, setter);
+	}
+
+	@Override
+	public <C> Context extract(Context context, @Nullable C carrier, TextMapGetter<C> getter) {
+		if (context == null) {
+			return Context.root();
+		}
+		if (getter == null) {
+			return context;
+		}
+		String b3 = getter.get(carrier, B3);
+		int traceIdLength = b3 != null ? traceIdLength(b3) : -1;
+		SpanContext spanContext = traceIdLength != -1 ? spanContext(b3, traceIdLength) : null;
+		if (spanContext == null) {
+			// malformed, debug or no single header, the delegate also falls back to
+			// multiple headers
+			return this.delegate.extract(context, carrier, getter);
+		}
+		return context.with(Span.wrap(spanContext));
+	}
+
+	/**
+	 * The header is {@code traceId-spanId}, optionally followed by {@code -sampled} and
+	 * {@code -parentSpanId}, with a 64 or 128-bit trace id.
+	 * @return length of the trace id, or -1 when the header has none of these shapes
+	 */
+	private static int traceIdLength(String b3) {
+		if (hasShape(b3, TRACE_ID_LENGTH)) {
+			return TRACE_ID_LENGTH;
+		}
+		if (hasShape(b3, SHORT_TRACE_ID_LENGTH)) {
+			return SHORT_TRACE_ID_LENGTH;
+		}
+		return -1;
+	}
+
+	private static boolean hasShape(String b3, int traceIdLength) {
+		int ids = traceIdLength + 1 + SPAN_ID_LENGTH;
+		int length = b3.length();
+		return length == ids || length == ids + 2 || length == ids + 2 + 1 + SPAN_ID_LENGTH;
+	}
+
+	@Nullable
+	private static SpanContext spanContext(String b3, int traceIdLength) {
+		int spanIdOffset = traceIdLength + 1;
+		int samplingOffset = spanIdOffset + SPAN_ID_LENGTH + 1;
+		if (b3.charAt(traceIdLength) != '-' || !BigendianEncoding.isValidBase16String(b3, 0, traceIdLength)
+				|| !BigendianEncoding.isValidBase16String(b3, spanIdOffset, SPAN_ID_LENGTH)) {
+			return null;
+		}
+		boolean sampled = false;
+		if (b3.length() > samplingOffset) {
+			if (b3.charAt(samplingOffset - 1) != '-') {
+				return null;
+			}
+			char sampling = b3.charAt(samplingOffset);
+			if (sampling == '1') {
+				sampled = true;
+			}
+			else if (sampling != '0') {
+				return null;
+			}
+			if (b3.length() > samplingOffset + 1 && (b3.charAt(samplingOffset + 1) != '-'
+					|| !BigendianEncoding.isValidBase16String(b3, samplingOffset + 2, SPAN_ID_LENGTH))) {
+				return null;
+			}
+		}
+		SpanContext spanContext = SpanContext.createFromRemoteParent(traceId(b3, traceIdLength),
+				b3.substring(spanIdOffset, spanIdOffset + SPAN_ID_LENGTH),
+				sampled ? TraceFlags.getSampled() : TraceFlags.getDefault(), TraceState.getDefault());
+		return spanContext.isValid() ? spanContext : null;
+	}
+
+	private static String traceId(String b3, int traceIdLength) {
+		if (traceIdLength == TRACE_ID_LENGTH) {
+			return b3.substring(0, TRACE_ID_LENGTH);
+		}
+		char[] buffer = TRACE_ID_BUFFER.get();
+		b3.getChars(0, SHORT_TRACE_ID_LENGTH, buffer, TRACE_ID_LENGTH - SHORT_TRACE_ID_LENGTH);
+		return new String(buffer);
+	}
+
+	@Override
+	public String toString() {
+		return "B3SingleHeaderPropagator";
+	}
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.propagation;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.MeterProvider;
+
+/**
+ * Limits applied to baggage received from upstream services, so that a single caller
+ * cannot make us parse and copy an arbitrary amount of baggage into every downstream
+ * context. Defaults follow the W3C baggage specification.
+ *
+ * Every rejected or truncated baggage is counted in the {@value #METRIC_NAME} counter.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+public class BaggageLimits {
+
+	/**
+	 * Maximum total length of the baggage header, as per the W3C baggage specification.
+	 */
+	public static final int DEFAULT_MAX_BYTES = 8192;
+
+	/**
+	 * Maximum number of entries, as per the W3C baggage specification.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 180;
+
+	/**
+	 * Name of the counter of rejected and truncated baggage.
+	 */
+	public static final String METRIC_NAME = "sleuth.baggage.limited";
+
+	private static final AttributeKey<String> ACTION = AttributeKey.stringKey("action");
+
+	private static final Attributes REJECTED = Attributes.of(ACTION, "rejected");
+
+	private static final Attributes TRUNCATED = Attributes.of(ACTION, "truncated");
+
+	private final int maxBytes;
+
+	private final int maxEntries;
+
+	private final int maxValueLength;
+
+	private final LongCounter counter;
+
+	/**
+	 * Creates limits that are not reported to any meter.
+	 * @param maxBytes maximum total length of the received baggage in UTF-8 bytes
+	 * @param maxEntries maximum number of received entries
+	 * @param maxValueLength maximum length of a single received value in UTF-8 bytes
+	 */
+	public BaggageLimits(int maxBytes, int maxEntries, int maxValueLength) {
+		this(maxBytes, maxEntries, maxValueLength, MeterProvider.noop());
+	}
+
+	/**
+	 * Creates a new instance of {@link BaggageLimits}.
+	 * @param maxBytes maximum total length of the received baggage in UTF-8 bytes
+	 * @param maxEntries maximum number of received entries
+	 * @param maxValueLength maximum length of a single received value in UTF-8 bytes
+	 * @param meterProvider provider of the meter the {@value #METRIC_NAME} counter is
+	 * registered with
+	 */
+	public BaggageLimits(int maxBytes, int maxEntries, int maxValueLength, MeterProvider meterProvider) {
+		this.maxBytes = maxBytes;
+		this.maxEntries = maxEntries;
+		this.maxValueLength = maxValueLength;
+		this.counter = meterProvider.get("org.springframework.cloud.sleuth").counterBuilder(METRIC_NAME)
+				.setDescription("Received baggage that was rejected or truncated because it exceeded the limits")
+				.build();
+	}
+
+	/**
+	 * @return limits of the W3C baggage specification
+	 */
+	public static BaggageLimits defaults() {
+		return new BaggageLimits(DEFAULT_MAX_BYTES, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+	}
+
+	public int getMaxBytes() {
+		return this.maxBytes;
+	}
+
+	public int getMaxEntries() {
+		return this.maxEntries;
+	}
+
+	public int getMaxValueLength() {
+		return this.maxValueLength;
+	}
+
+	/**
+	 * @param value received baggage value
+	 * @return {@code true} if the value takes more UTF-8 bytes than the value length
+	 * limit
+	 */
+	boolean exceedsMaxValueLength(String value) {
+		// every char takes at least one and at most three bytes in UTF-8
+		if (value.length() > this.maxValueLength) {
+			return true;
+		}
+		if (value.length() <= this.maxValueLength / 3) {
+			return false;
+		}
+		return utf8Length(value) > this.maxValueLength;
+	}
+
+	/**
+	 * Returns the number of bytes the given text takes in UTF-8, without encoding it.
+	 * @param text text to measure
+	 * @return length of the text in UTF-8 bytes
+	 */
+	static int utf8Length(String text) {
+		int bytes = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < 0x80) {
+				bytes++;
+			}
+			else if (c < 0x800 || Character.isSurrogate(c)) {
+				// a surrogate pair takes four bytes
+				bytes += 2;
+			}
+			else {
+				bytes += 3;
+			}
+		}
+		return bytes;
+	}
+
+	void rejected() {
+		this.counter.add(1, REJECTED);
+	}
+
+	void truncated() {
+		this.counter.add(1, TRUNCATED);
+	}
+
+	@Override
+	public String toString() {
+		return "BaggageLimits{" + "maxBytes=" + this.maxBytes + ", maxEntries=" + this.maxEntries + ", maxValueLength="
+				+ this.maxValueLength + '}';
+	}
+
+}
@@ -16,10 +16,8 @@
 
 package org.springframework.cloud.sleuth.otel.propagation;
 
-import java.util.AbstractMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 import io.opentelemetry.api.baggage.Baggage;
 import io.opentelemetry.api.baggage.BaggageBuilder;
@@ -32,6 +30,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.cloud.sleuth.BaggageManager;
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
 
 /**
  * {@link TextMapPropagator} that adds compatible baggage entries (name of the field means
@@ -47,22 +46,48 @@ public class BaggageTextMapPropagator implements TextMapPropagator {
 	/**
 	 * Taken from one of the W3C OTel tests. Can't find it in a spec.
 	 */
-	private static final String PROPAGATION_UNLIMITED = "propagation=unlimited";
+	private static final BaggageEntryMetadata REMOTE_METADATA = BaggageEntryMetadata.create("propagation=unlimited");
 
 	private static final Log log = LogFactory.getLog(BaggageTextMapPropagator.class);
 
+	private final BaggageFields baggageFields;
+
 	private final List<String> remoteFields;
 
 	private final BaggageManager baggageManager;
 
+	private final BaggageLimits baggageLimits;
+
 	/**
 	 * Creates a new instance of {@link BaggageTextMapPropagator}.
 	 * @param remoteFields remote fields
 	 * @param baggageManager baggage manager
 	 */
 	public BaggageTextMapPropagator(List<String> remoteFields, BaggageManager baggageManager) {
-		this.remoteFields = remoteFields;
+		this(new BaggageFields(remoteFields, Collections.emptyList(), Collections.emptyList()), baggageManager);
+	}
+
+	/**
+	 * Creates a new instance of {@link BaggageTextMapPropagator}.
+	 * @param baggageFields baggage fields, of which the remote ones get propagated
+	 * @param baggageManager baggage manager
+	 */
+	public BaggageTextMapPropagator(BaggageFields baggageFields, BaggageManager baggageManager) {
+		this(baggageFields, baggageManager, BaggageLimits.defaults());
+	}
+
+	/**
+	 * Creates a new instance of {@link BaggageTextMapPropagator}.
+	 * @param baggageFields baggage fields, of which the remote ones get propagated
+	 * @param baggageManager baggage manager
+	 * @param baggageLimits limits enforced on the received baggage
+	 */
+	public BaggageTextMapPropagator(BaggageFields baggageFields, BaggageManager baggageManager,
+			BaggageLimits baggageLimits) {
+		this.baggageFields = baggageFields;
+		this.remoteFields = baggageFields.getRemoteFields();
 		this.baggageManager = baggageManager;
+		this.baggageLimits = baggageLimits;
 	}
 
 	@Override
@@ -72,33 +97,48 @@ public class BaggageTextMapPropagator implements TextMapPropagator {
 
 	@Override
 	public <C> void inject(Context context, C c, TextMapSetter<C> setter) {
-		List<Map.Entry<String, String>> baggageEntries = applicableBaggageEntries(c);
-		baggageEntries.forEach(e -> setter.set(c, e.getKey(), e.getValue()));
-	}
-
-	private <C> List<Map.Entry<String, String>> applicableBaggageEntries(C c) {
-		Map<String, String> allBaggage = this.baggageManager.getAllBaggage();
-		List<String> lowerCaseKeys = this.remoteFields.stream().map(String::toLowerCase).collect(Collectors.toList());
-		return allBaggage.entrySet().stream().filter(e -> lowerCaseKeys.contains(e.getKey().toLowerCase()))
-				.collect(Collectors.toList());
+		this.baggageManager.getAllBaggage().forEach((key, value) -> {
+			if (this.baggageFields.isRemote(key)) {
+				setter.set(c, key, value);
+			}
+		});
 	}
 
 	@Override
 	public <C> Context extract(Context context, C c, TextMapGetter<C> getter) {
-		Map<String, String> baggageEntries = this.remoteFields.stream()
-				.map(s -> new AbstractMap.SimpleEntry<>(s, getter.get(c, s))).filter(e -> e.getValue() != null)
-				.collect(Collectors.toMap((e) -> e.getKey(), (e) -> e.getValue()));
-		BaggageBuilder builder = Baggage.current().toBuilder();
-		baggageEntries
-				.forEach((key, value) -> builder.put(key, value, BaggageEntryMetadata.create(PROPAGATION_UNLIMITED)));
-		Baggage.fromContext(context)
-				.forEach((s, baggageEntry) -> builder.put(s, baggageEntry.getValue(), baggageEntry.getMetadata()));
+		Baggage existing = Baggage.fromContext(context);
+		BaggageBuilder builder = null;
+		int entries = 0;
+		int bytes = 0;
+		for (String field : this.remoteFields) {
+			String value = getter.get(c, field);
+			// entries already present in the context take precedence over the headers
+			if (value == null || existing.getEntryValue(field) != null) {
+				continue;
+			}
+			if (this.baggageLimits.exceedsMaxValueLength(value)) {
+				this.baggageLimits.truncated();
+				continue;
+			}
+			// counted as if the entries were sent in a single W3C baggage header
+			bytes += (entries > 0 ? 1 : 0) + BaggageLimits.utf8Length(field) + 1 + BaggageLimits.utf8Length(value);
+			if (++entries > this.baggageLimits.getMaxEntries() || bytes > this.baggageLimits.getMaxBytes()) {
+				this.baggageLimits.truncated();
+				break;
+			}
+			if (builder == null) {
+				builder = existing.toBuilder();
+			}
+			builder.put(field, value, REMOTE_METADATA);
+		}
+		if (builder == null) {
+			return context;
+		}
 		Baggage baggage = builder.build();
-		Context withBaggage = context.with(baggage);
 		if (log.isDebugEnabled()) {
-			log.debug("Will propagate new baggage context for entries " + baggageEntries);
+			log.debug("Will propagate new baggage context for entries " + baggage.asMap());
 		}
-		return withBaggage;
+		return context.with(baggage);
 	}
 
 }
@@ -14,7 +14,7 @@
  * limitations under the License.
  */
 
-package org.springframework.cloud.sleuth.otel.bridge;
+package org.springframework.cloud.sleuth.otel.propagation;
 
 import java.util.Arrays;
 
@@ -74,6 +74,40 @@ final class BigendianEncoding {
 				| (decodeByte(chars.charAt(offset + 14), chars.charAt(offset + 15)) & 0xFFL);
 	}
 
+	/**
+	 * Returns whether the {@code length} chars of {@code chars} starting from the
+	 * {@code offset} are lower case base16 characters. Unlike the decoding methods it
+	 * never throws, so that malformed headers can be skipped cheaply.
+	 * @param chars chars to check
+	 * @param offset index of the first char to check
+	 * @param length number of chars to check
+	 * @return {@code true} when all checked chars are valid base16
+	 */
+	static boolean isValidBase16String(CharSequence chars, int offset, int length) {
+		if (chars.length() < offset + length) {
+			return false;
+		}
+		for (int i = offset; i < offset + length; i++) {
+			char c = chars.charAt(i);
+			if (c >= ASCII_CHARACTERS || DECODING[c] == -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the {@code byte} whose base16 representation is stored in the two chars of
+	 * {@code chars} starting from the {@code offset}. The chars must have been validated
+	 * with {@link #isValidBase16String(CharSequence, int, int)}.
+	 * @param chars the base16 representation of the {@code byte}
+	 * @param offset index of the first char
+	 * @return decoded byte
+	 */
+	static byte byteFromBase16String(CharSequence chars, int offset) {
+		return (byte) (DECODING[chars.charAt(offset)] << 4 | DECODING[chars.charAt(offset + 1)]);
+	}
+
 	private static byte decodeByte(char hi, char lo) {
 		Utils.checkArgument(lo < ASCII_CHARACTERS && DECODING[lo] != -1, "invalid character " + lo);
 		Utils.checkArgument(hi < ASCII_CHARACTERS && DECODING[hi] != -1, "invalid character " + hi);
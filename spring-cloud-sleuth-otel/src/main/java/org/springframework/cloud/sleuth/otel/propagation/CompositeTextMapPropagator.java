@@ -16,14 +16,15 @@
 
 package org.springframework.cloud.sleuth.otel.propagation;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import io.opentelemetry.api.baggage.Baggage;
-import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
 import io.opentelemetry.context.Context;
@@ -38,6 +39,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 
 /**
@@ -53,10 +55,26 @@ public class CompositeTextMapPropagator implements TextMapPropagator {
 
 	private final Map<PropagationType, TextMapPropagator> mapping = new HashMap<>();
 
-	private final List<PropagationType> types;
+	/**
+	 * Propagators of the configured types, in order of precedence, without the no-op
+	 * ones.
+	 */
+	private final TextMapPropagator[] propagators;
+
+	private final List<String> fields;
 
 	public CompositeTextMapPropagator(BeanFactory beanFactory, List<PropagationType> types) {
-		this.types = types;
+		this(beanFactory, types, BaggageLimits.defaults());
+	}
+
+	/**
+	 * Creates a new instance of {@link CompositeTextMapPropagator}.
+	 * @param beanFactory bean factory to look up the propagators in
+	 * @param types propagation types to use, in order of precedence
+	 * @param baggageLimits limits enforced on the received W3C baggage
+	 */
+	public CompositeTextMapPropagator(BeanFactory beanFactory, List<PropagationType> types,
+			BaggageLimits baggageLimits) {
 		if (isOnClasspath(awsClass())) {
 			this.mapping.put(PropagationType.AWS, beanFactory.getBeanProvider(AwsXrayPropagator.class)
 					.getIfAvailable(AwsXrayPropagator::getInstance));
@@ -67,8 +85,10 @@ public class CompositeTextMapPropagator implements TextMapPropagator {
 							.getIfAvailable(io.opentelemetry.extension.aws.AwsXrayPropagator::getInstance));
 		}
 		if (isOnClasspath(b3Class())) {
-			this.mapping.put(PropagationType.B3, beanFactory.getBeanProvider(B3Propagator.class)
-					.getIfAvailable(B3Propagator::injectingSingleHeader));
+			TextMapPropagator b3 = beanFactory.getBeanProvider(B3Propagator.class)
+					.getIfAvailable(B3Propagator::injectingSingleHeader);
+			this.mapping.put(PropagationType.B3, b3);
+			this.mapping.put(PropagationType.B3_ZERO_COPY, new B3SingleHeaderPropagator(b3));
 		}
 		if (isOnClasspath(jaegerClass())) {
 			this.mapping.put(PropagationType.JAEGER,
@@ -79,11 +99,60 @@ public class CompositeTextMapPropagator implements TextMapPropagator {
 					.getIfAvailable(OtTracePropagator::getInstance));
 		}
 		this.mapping.put(PropagationType.W3C, TextMapPropagator.composite(W3CTraceContextPropagator.getInstance(),
-				W3CBaggagePropagator.getInstance()));
+				new LimitingW3CBaggagePropagator(baggageLimits)));
+		this.mapping.put(PropagationType.W3C_ZERO_COPY, TextMapPropagator
+				.composite(W3CTraceparentPropagator.getInstance(), new LimitingW3CBaggagePropagator(baggageLimits)));
 		this.mapping.put(PropagationType.CUSTOM, NoopTextMapPropagator.INSTANCE);
 		if (log.isDebugEnabled()) {
 			log.debug("Registered the following context propagation types " + this.mapping.keySet());
 		}
+		this.propagators = propagators(types);
+		this.fields = fields(this.propagators);
+	}
+
+	private TextMapPropagator[] propagators(List<PropagationType> types) {
+		Set<TextMapPropagator> propagators = new LinkedHashSet<>();
+		Set<PropagationType> used = new LinkedHashSet<>();
+		for (PropagationType type : types) {
+			TextMapPropagator propagator = this.mapping.get(type);
+			if (propagator == null || propagator == NoopTextMapPropagator.INSTANCE) {
+				continue;
+			}
+			PropagationType sameHeaders = sameHeaders(type);
+			if (sameHeaders != null && used.contains(sameHeaders)) {
+				// both would inject the same headers
+				log.warn("Ignoring propagation type [" + type + "] as it uses the same headers as [" + sameHeaders
+						+ "]");
+				continue;
+			}
+			used.add(type);
+			propagators.add(propagator);
+		}
+		return propagators.toArray(new TextMapPropagator[0]);
+	}
+
+	@Nullable
+	private static PropagationType sameHeaders(PropagationType type) {
+		switch (type) {
+		case B3:
+			return PropagationType.B3_ZERO_COPY;
+		case B3_ZERO_COPY:
+			return PropagationType.B3;
+		case W3C:
+			return PropagationType.W3C_ZERO_COPY;
+		case W3C_ZERO_COPY:
+			return PropagationType.W3C;
+		default:
+			return null;
+		}
+	}
+
+	private static List<String> fields(TextMapPropagator[] propagators) {
+		Set<String> fields = new LinkedHashSet<>();
+		for (TextMapPropagator propagator : propagators) {
+			fields.addAll(propagator.fields());
+		}
+		return Collections.unmodifiableList(new ArrayList<>(fields));
 	}
 
 	String otClass() {
@@ -112,24 +181,20 @@ public class CompositeTextMapPropagator implements TextMapPropagator {
 
 	@Override
 	public List<String> fields() {
-		return this.types.stream().map(key -> this.mapping.getOrDefault(key, NoopTextMapPropagator.INSTANCE))
-				.flatMap(p -> p.fields().stream()).collect(Collectors.toList());
+		return this.fields;
 	}
 
 	@Override
 	public <C> void inject(Context context, C carrier, TextMapSetter<C> setter) {
-		this.types.stream().map(key -> this.mapping.getOrDefault(key, NoopTextMapPropagator.INSTANCE))
-				.forEach(p -> p.inject(context, carrier, setter));
+		for (int i = 0; i < this.propagators.length; i++) {
+			this.propagators[i].inject(context, carrier, setter);
+		}
 	}
 
 	@Override
 	public <C> Context extract(Context context, C carrier, TextMapGetter<C> getter) {
-		for (PropagationType type : this.types) {
-			TextMapPropagator propagator = this.mapping.get(type);
-			if (propagator == null || propagator == NoopTextMapPropagator.INSTANCE) {
-				continue;
-			}
-			Context extractedContext = propagator.extract(context, carrier, getter);
+		for (int i = 0; i < this.propagators.length; i++) {
+			Context extractedContext = this.propagators[i].extract(context, carrier, getter);
 			Span span = Span.fromContextOrNull(extractedContext);
 			Baggage baggage = Baggage.fromContextOrNull(extractedContext);
 			if (span != null || baggage != null) {
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.propagation;
+
+import java.util.Collection;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageBuilder;
+import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * {@link W3CBaggagePropagator} that enforces {@link BaggageLimits} on the received
+ * {@code baggage} header. A header taking more UTF-8 bytes than the byte limit is
+ * rejected before it gets parsed. A header with too many entries gets cut after the last
+ * allowed entry before it gets parsed. Received values taking more UTF-8 bytes than the
+ * value length limit are dropped before the received entries get merged into the baggage
+ * already present in the context.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+class LimitingW3CBaggagePropagator implements TextMapPropagator {
+
+	private static final Log log = LogFactory.getLog(LimitingW3CBaggagePropagator.class);
+
+	private static final String FIELD = "baggage";
+
+	private final W3CBaggagePropagator delegate = W3CBaggagePropagator.getInstance();
+
+	private final BaggageLimits limits;
+
+	LimitingW3CBaggagePropagator(BaggageLimits limits) {
+		this.limits = limits;
+	}
+
+	@Override
+	public Collection<String> fields() {
+		return this.delegate.fields();
+	}
+
+	@Override
+	public <C> void inject(Context context, C carrier, TextMapSetter<C> setter) {
+		this.delegate.inject(context, carrier, setter);
+	}
+
+	@Override
+	public <C> Context extract(Context context, C carrier, TextMapGetter<C> getter) {
+		if (context == null) {
+			return Context.root();
+		}
+		if (getter == null) {
+			return context;
+		}
+		String header = getter.get(carrier, FIELD);
+		if (header == null || header.isEmpty()) {
+			return context;
+		}
+		if (exceedsMaxBytes(header)) {
+			if (log.isDebugEnabled()) {
+				log.debug("Rejecting baggage header of length [" + header.length() + "] exceeding the limit of ["
+						+ this.limits.getMaxBytes() + "] bytes");
+			}
+			this.limits.rejected();
+			return context;
+		}
+		int end = endOfAllowedEntries(header);
+		TextMapGetter<C> headerGetter = getter;
+		if (end < header.length()) {
+			this.limits.truncated();
+			headerGetter = new HeaderGetter<>(getter, header.substring(0, end));
+		}
+		// extracted on its own, so that the limits apply to the received entries only
+		Context extracted = this.delegate.extract(Context.root(), carrier, headerGetter);
+		if (extracted == Context.root()) {
+			return context;
+		}
+		return context.with(merge(Baggage.fromContext(context), withoutLongValues(Baggage.fromContext(extracted))));
+	}
+
+	private static Baggage merge(Baggage existing, Baggage received) {
+		if (existing.isEmpty()) {
+			return received;
+		}
+		BaggageBuilder builder = existing.toBuilder();
+		received.forEach((key, entry) -> builder.put(key, entry.getValue(), entry.getMetadata()));
+		return builder.build();
+	}
+
+	private boolean exceedsMaxBytes(String header) {
+		int maxBytes = this.limits.getMaxBytes();
+		// every char takes at least one and at most three bytes in UTF-8
+		if (header.length() > maxBytes) {
+			return true;
+		}
+		if (header.length() <= maxBytes / 3) {
+			return false;
+		}
+		return BaggageLimits.utf8Length(header) > maxBytes;
+	}
+
+	private int endOfAllowedEntries(String header) {
+		int entries = 1;
+		for (int i = 0; i < header.length(); i++) {
+			if (header.charAt(i) == ',' && ++entries > this.limits.getMaxEntries()) {
+				return i;
+			}
+		}
+		return header.length();
+	}
+
+	private Baggage withoutLongValues(Baggage baggage) {
+		BaggageBuilder[] builder = new BaggageBuilder[1];
+		baggage.forEach((key, entry) -> {
+			if (this.limits.exceedsMaxValueLength(entry.getValue())) {
+				if (builder[0] == null) {
+					builder[0] = baggage.toBuilder();
+				}
+				builder[0].remove(key);
+			}
+		});
+		if (builder[0] == null) {
+			return baggage;
+		}
+		this.limits.truncated();
+		return builder[0].build();
+	}
+
+	/**
+	 * Returns the truncated header instead of the one in the carrier.
+	 */
+	private static final class HeaderGetter<C> implements TextMapGetter<C> {
+
+		private final TextMapGetter<C> delegate;
+
+		private final String header;
+
+		private HeaderGetter(TextMapGetter<C> delegate, String header) {
+			this.delegate = delegate;
+			this.header = header;
+		}
+
+		@Override
+		public Iterable<String> keys(C carrier) {
+			return this.delegate.keys(carrier);
+		}
+
+		@Override
+		public String get(C carrier, String key) {
+			if (FIELD.equals(key)) {
+				return this.header;
+			}
+			return this.delegate.get(carrier, key);
+		}
+
+	}
+
+}
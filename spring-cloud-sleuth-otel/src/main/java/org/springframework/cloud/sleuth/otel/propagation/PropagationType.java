@@ -34,6 +34,13 @@ public enum PropagationType {
 	 */
 	B3,
 
+	/**
+	 * B3 propagation type that extracts the single header without creating intermediate
+	 * strings. Falls back to the regular B3 propagation for anything else. Cannot be
+	 * combined with {@link #B3}, the one listed first is used.
+	 */
+	B3_ZERO_COPY,
+
 	/**
 	 * Jaeger propagation type.
 	 */
@@ -49,6 +56,14 @@ public enum PropagationType {
 	 */
 	W3C,
 
+	/**
+	 * W3C propagation type that extracts the {@code traceparent} header without creating
+	 * intermediate strings. Falls back to the regular W3C propagation when a
+	 * {@code tracestate} is present. Cannot be combined with {@link #W3C}, the one listed
+	 * first is used.
+	 */
+	W3C_ZERO_COPY,
+
 	/**
 	 * Custom propagation type.
 	 */
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.otel.propagation;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * W3C {@code traceparent} propagator that parses version {@code 00} headers directly from
+ * the received value, validating it in place with {@link BigendianEncoding}. The only
+ * objects created on extraction are the trace and span ids held by the extracted span
+ * context. Headers with a {@code tracestate}, or of another version, are handed to the
+ * {@link W3CTraceContextPropagator}, which also does the injection as it already writes
+ * through a reusable per-thread buffer.
+ *
+ * @author Marcin Grzejszczak
+ * @since 1.1.5
+ */
+final class W3CTraceparentPropagator implements TextMapPropagator {
+
+	private static final W3CTraceparentPropagator INSTANCE = new W3CTraceparentPropagator();
+
+	private static final String TRACE_PARENT = "traceparent";
+
+	private static final String TRACE_STATE = "tracestate";
+
+	private static final int TRACE_ID_OFFSET = 3;
+
+	private static final int TRACE_ID_LENGTH = 32;
+
+	private static final int SPAN_ID_OFFSET = TRACE_ID_OFFSET + TRACE_ID_LENGTH + 1;
+
+	private static final int SPAN_ID_LENGTH = 16;
+
+	private static final int TRACE_FLAGS_OFFSET = SPAN_ID_OFFSET + SPAN_ID_LENGTH + 1;
+
+	private static final int TRACE_PARENT_LENGTH = TRACE_FLAGS_OFFSET + BigendianEncoding.BYTE_BASE16;
+
+	private final W3CTraceContextPropagator delegate = W3CTraceContextPropagator.getInstance();
+
+	private W3CTraceparentPropagator() {
+	}
+
+	static W3CTraceparentPropagator getInstance() {
+		return INSTANCE;
+	}
+
+	@Override
+	public Collection<String> fields() {
+		return this.delegate.fields();
+	}
+
+	@Override
+	public <C> void inject(Context context, @Nullable C carrier, TextMapSetter<C> setter) {
+		this.delegate.inject(context, carrier, setter);
+	}
+
+	@Override
+	public <C> Context extract(Context context, @Nullable C carrier, TextMapGetter<C> getter) {
+		if (context == null) {
+			return Context.root();
+		}
+		if (getter == null) {
+			return context;
+		}
+		String traceParent = getter.get(carrier, TRACE_PARENT);
+		if (traceParent == null) {
+			return context;
+		}
+		if (traceParent.length() != TRACE_PARENT_LENGTH || traceParent.charAt(0) != '0'
+				|| traceParent.charAt(1) != '0') {
+			return this.delegate.extract(context, carrier, getter);
+		}
+		String traceState = getter.get(carrier, TRACE_STATE);
+		if (traceState != null) {
+			// the delegate gets the headers that were already read
+			return this.delegate.extract(context, null, new HeadersGetter(traceParent, traceState));
+		}
+		SpanContext spanContext = spanContext(traceParent);
+		if (spanContext == null) {
+			return context;
+		}
+		return context.with(Span.wrap(spanContext));
+	}
+
+	@Nullable
+	private static SpanContext spanContext(String traceParent) {
+		if (traceParent.charAt(TRACE_ID_OFFSET - 1) != '-' || traceParent.charAt(SPAN_ID_OFFSET - 1) != '-'
+				|| traceParent.charAt(TRACE_FLAGS_OFFSET - 1) != '-'
+				|| !BigendianEncoding.isValidBase16String(traceParent, TRACE_ID_OFFSET, TRACE_ID_LENGTH)
+				|| !BigendianEncoding.isValidBase16String(traceParent, SPAN_ID_OFFSET, SPAN_ID_LENGTH)
+				|| !BigendianEncoding.isValidBase16String(traceParent, TRACE_FLAGS_OFFSET,
+						BigendianEncoding.BYTE_BASE16)) {
+			return null;
+		}
+		SpanContext spanContext = SpanContext.createFromRemoteParent(
+				traceParent.substring(TRACE_ID_OFFSET, TRACE_ID_OFFSET + TRACE_ID_LENGTH),
+				traceParent.substring(SPAN_ID_OFFSET, SPAN_ID_OFFSET + SPAN_ID_LENGTH),
+				TraceFlags.fromByte(BigendianEncoding.byteFromBase16String(traceParent, TRACE_FLAGS_OFFSET)),
+				TraceState.getDefault());
+		return spanContext.isValid() ? spanContext : null;
+	}
+
+	@Override
+	public String toString() {
+		return "W3CTraceparentPropagator";
+	}
+
+	private static final class HeadersGetter implements TextMapGetter<Object> {
+
+		private final String traceParent;
+
+		private final String traceState;
+
+		private HeadersGetter(String traceParent, String traceState) {
+			this.traceParent = traceParent;
+			this.traceState = traceState;
+		}
+
+		@Override
+		public Iterable<String> keys(Object carrier) {
+			return Arrays.asList(TRACE_PARENT, TRACE_STATE);
+		}
+
+		@Override
+		public String get(@Nullable Object carrier, String key) {
+			if (TRACE_PARENT.equals(key)) {
+				return this.traceParent;
+			}
+			return TRACE_STATE.equals(key) ? this.traceState : null;
+		}
+
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.function.Consumer;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounterBuilder;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class AttributeKeyCacheTests {
+
+	@Test
+	void should_return_interned_key_on_subsequent_lookups() {
+		AttributeKeyCache cache = new AttributeKeyCache(16);
+
+		AttributeKey<String> first = cache.get("http.route");
+		AttributeKey<String> second = cache.get("http.route");
+
+		then(second).isSameAs(first).isEqualTo(AttributeKey.stringKey("http.route"));
+		then(cache.missCount()).isEqualTo(1);
+		then(cache.hitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void should_stay_bounded_for_high_cardinality_keys() {
+		AttributeKeyCache cache = new AttributeKeyCache(10);
+
+		for (int i = 0; i < 10_000; i++) {
+			then(cache.get("key" + i).getKey()).isEqualTo("key" + i);
+		}
+
+		then(cache.maxSize()).isEqualTo(16);
+		then(cache.missCount()).isEqualTo(10_000);
+	}
+
+	@Test
+	void should_keep_two_colliding_keys_cached() {
+		AttributeKeyCache cache = new AttributeKeyCache(16);
+		// both keys have the same hash code and therefore map to the same set
+		then("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+		AttributeKey<String> first = cache.get("Aa");
+		AttributeKey<String> second = cache.get("BB");
+
+		then(cache.get("Aa")).isSameAs(first);
+		then(cache.get("BB")).isSameAs(second);
+		then(cache.missCount()).isEqualTo(2);
+		then(cache.hitCount()).isEqualTo(2);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void should_report_hits_and_misses_to_the_meter() {
+		MeterProvider meterProvider = mock(MeterProvider.class, Mockito.RETURNS_DEEP_STUBS);
+		LongCounterBuilder builder = meterProvider.get(anyString()).counterBuilder(anyString())
+				.setDescription(anyString());
+		AttributeKeyCache cache = new AttributeKeyCache(16);
+		cache.get("http.route");
+		cache.get("http.route");
+		cache.get("http.method");
+
+		cache.registerMetrics(meterProvider);
+
+		ArgumentCaptor<Consumer<ObservableLongMeasurement>> callback = ArgumentCaptor.forClass(Consumer.class);
+		verify(builder).buildWithCallback(callback.capture());
+		ObservableLongMeasurement measurement = mock(ObservableLongMeasurement.class);
+		callback.getValue().accept(measurement);
+		verify(measurement).record(1, Attributes.of(AttributeKey.stringKey("result"), "hit"));
+		verify(measurement).record(2, Attributes.of(AttributeKey.stringKey("result"), "miss"));
+	}
+
+	@Test
+	void should_not_cache_null_keys() {
+		AttributeKeyCache cache = new AttributeKeyCache(16);
+
+		then(cache.get(null).getKey()).isEmpty();
+		then(cache.hitCount()).isZero();
+		then(cache.missCount()).isZero();
+	}
+
+}
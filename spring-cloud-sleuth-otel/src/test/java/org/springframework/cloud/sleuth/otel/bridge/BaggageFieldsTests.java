@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class BaggageFieldsTests {
+
+	@Test
+	void should_match_fields_ignoring_case() {
+		BaggageFields fields = new BaggageFields(Arrays.asList("Country-Code", "user-id"),
+				Collections.singletonList("user-id"), Collections.singletonList("REQUEST-ID"));
+
+		then(fields.isRemote("country-code")).isTrue();
+		then(fields.isRemote("USER-ID")).isTrue();
+		then(fields.isRemote("request-id")).isFalse();
+		then(fields.isTag("User-Id")).isTrue();
+		then(fields.isTag("country-code")).isFalse();
+		then(fields.isCorrelation("request-id")).isTrue();
+		then(fields.isCorrelation("user-id")).isFalse();
+		then(fields.isRemote("unknown")).isFalse();
+		then(fields.isRemote(null)).isFalse();
+	}
+
+	@Test
+	void should_match_nothing_when_empty() {
+		BaggageFields fields = BaggageFields.empty();
+
+		then(fields.isRemote("foo")).isFalse();
+		then(fields.isTag("foo")).isFalse();
+		then(fields.isCorrelation("foo")).isFalse();
+	}
+
+	@Test
+	void should_keep_fields_as_configured() {
+		BaggageFields fields = new BaggageFields(Collections.singletonList("Foo"), Collections.emptyList(),
+				Collections.emptyList());
+
+		then(fields.getRemoteFields()).containsExactly("Foo");
+	}
+
+}
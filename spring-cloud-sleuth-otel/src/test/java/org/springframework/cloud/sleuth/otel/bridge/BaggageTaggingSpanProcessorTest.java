@@ -37,7 +37,8 @@ class BaggageTaggingSpanProcessorTest {
 	void interfaceMethods() {
 		BaggageTaggingSpanProcessor spanProcessor = new BaggageTaggingSpanProcessor(Collections.emptyList());
 		assertThat(spanProcessor.isEndRequired()).isFalse();
-		assertThat(spanProcessor.isStartRequired()).isTrue();
+		assertThat(spanProcessor.isStartRequired()).isFalse();
+		assertThat(new BaggageTaggingSpanProcessor(Collections.singletonList("tagOne")).isStartRequired()).isTrue();
 	}
 
 	@Test
@@ -66,4 +67,18 @@ class BaggageTaggingSpanProcessorTest {
 		verifyNoMoreInteractions(span);
 	}
 
+	@Test
+	void onStart_withMoreTagsThanBaggage() {
+		BaggageTaggingSpanProcessor spanProcessor = new BaggageTaggingSpanProcessor(
+				Arrays.asList("tagOne", "tagTwo", "tagThree"));
+
+		Baggage baggage = Baggage.builder().put("tagOne", "valueOne").put("otherTag", "otherValue").build();
+		ReadWriteSpan span = mock(ReadWriteSpan.class);
+
+		spanProcessor.onStart(Context.root().with(baggage), span);
+		verify(span).setAttribute(stringKey("tagOne"), "valueOne");
+
+		verifyNoMoreInteractions(span);
+	}
+
 }
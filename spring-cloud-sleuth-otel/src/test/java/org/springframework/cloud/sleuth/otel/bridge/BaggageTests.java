@@ -23,6 +23,8 @@ import java.util.function.Function;
 
 import io.opentelemetry.api.baggage.propagation.W3CBaggagePropagator;
 import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
 import io.opentelemetry.context.propagation.ContextPropagators;
 import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.extension.trace.propagation.B3Propagator;
@@ -106,4 +108,46 @@ class BaggageTests {
 		}
 	}
 
+	@Test
+	void getsBaggageIgnoringCase() {
+		io.opentelemetry.api.baggage.Baggage baggage = io.opentelemetry.api.baggage.Baggage.builder()
+				.put("other", "value").put("Key1", VALUE_1).build();
+
+		try (Scope scope = Context.root().with(baggage).makeCurrent()) {
+			then(tracer.getBaggage("KEY1").get()).isEqualTo(VALUE_1);
+			then(tracer.getBaggage("key1").name()).isEqualTo("Key1");
+		}
+	}
+
+	@Test
+	void keepsTheCompositeBaggagePrecedenceForKeysDifferingByCase() {
+		io.opentelemetry.api.baggage.Baggage baggage = io.opentelemetry.api.baggage.Baggage.builder()
+				.put("Key1", "first").put("KEY1", "second").build();
+
+		try (Scope scope = Context.root().with(baggage).makeCurrent()) {
+			StringBuilder expected = new StringBuilder();
+			otelBaggageManager.currentBaggage().forEach((key, entry) -> {
+				if (expected.length() == 0 && key.equalsIgnoreCase(KEY_1)) {
+					expected.append(entry.getValue());
+				}
+			});
+
+			then(tracer.getBaggage(KEY_1).get()).isEqualTo(expected.toString());
+		}
+	}
+
+	@Test
+	void buildsCompositeBaggageOfTheCurrentContexts() {
+		Span span = tracer.nextSpan().start();
+		try (Tracer.SpanInScope spanInScope = tracer.withSpan(span)) {
+			try (BaggageInScope baggageInScope = this.tracer.createBaggage(KEY_1, VALUE_1)) {
+				CompositeBaggage baggage = otelBaggageManager.currentBaggage();
+
+				then(baggage.getEntryValue(KEY_1)).isEqualTo(VALUE_1);
+				then(baggage.asMap()).containsOnlyKeys(KEY_1);
+			}
+			then(otelBaggageManager.currentBaggage().getEntryValue(KEY_1)).isNull();
+		}
+	}
+
 }
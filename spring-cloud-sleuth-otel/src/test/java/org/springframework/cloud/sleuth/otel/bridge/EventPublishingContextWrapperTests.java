@@ -0,0 +1,89 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextStorage;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.ApplicationEvent;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class EventPublishingContextWrapperTests {
+
+	Context context = Context.root().with(Baggage.builder().put("foo", "bar").build());
+
+	@Test
+	void should_call_scope_listeners_directly() {
+		List<String> calls = new ArrayList<>();
+		ContextStorage storage = new EventPublishingContextWrapper(Collections.singletonList(new ScopeListener() {
+			@Override
+			public void onScopeAttached(Context context) {
+				calls.add("attached " + Baggage.fromContext(context).getEntryValue("foo"));
+			}
+
+			@Override
+			public void onScopeClosed() {
+				calls.add("closed");
+			}
+
+			@Override
+			public void onScopeRestored(Context context) {
+				calls.add("restored " + Baggage.fromContext(context).getEntryValue("foo"));
+			}
+		})).apply(ContextStorage.defaultStorage());
+
+		try (Scope scope = storage.attach(this.context)) {
+			then(calls).containsExactly("attached bar");
+		}
+
+		then(calls).containsExactly("attached bar", "closed", "restored null");
+	}
+
+	@Test
+	void should_publish_application_events() {
+		List<ApplicationEvent> events = new ArrayList<>();
+		ContextStorage storage = new EventPublishingContextWrapper(event -> events.add((ApplicationEvent) event))
+				.apply(ContextStorage.defaultStorage());
+
+		try (Scope scope = storage.attach(this.context)) {
+			then(events).hasSize(1).first().isInstanceOf(EventPublishingContextWrapper.ScopeAttachedEvent.class);
+		}
+
+		then(events).hasSize(3);
+		then(events.get(1)).isInstanceOf(EventPublishingContextWrapper.ScopeClosedEvent.class);
+		then(events.get(2)).isInstanceOf(EventPublishingContextWrapper.ScopeRestoredEvent.class);
+	}
+
+	@Test
+	void should_not_wrap_storage_when_nobody_listens() {
+		ContextStorage storage = ContextStorage.defaultStorage();
+
+		then(new EventPublishingContextWrapper(Collections.emptyList()).apply(storage)).isSameAs(storage);
+		then(new EventPublishingContextWrapper(
+				Collections.singletonList(new Slf4jBaggageApplicationListener(BaggageFields.empty()))).apply(storage))
+						.isSameAs(storage);
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageEntryMetadata;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.cloud.sleuth.TraceContext;
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class OtelCurrentTraceContextTests {
+
+	SdkTracerProvider sdkTracerProvider = SdkTracerProvider.builder().setSampler(Sampler.alwaysOn()).build();
+
+	io.opentelemetry.api.trace.Tracer otelTracer = sdkTracerProvider.get("io.micrometer.micrometer-tracing");
+
+	OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+
+	@Test
+	void should_not_nest_span_wrappers_when_context_hops_threads() {
+		Span span = otelTracer.spanBuilder("foo").startSpan();
+		OtelTraceContext traceContext;
+		try (Scope scope = span.makeCurrent()) {
+			traceContext = (OtelTraceContext) currentTraceContext.context();
+		}
+
+		for (int i = 0; i < 50; i++) {
+			// each hop starts from a clean thread, like a reactive operator on another
+			// scheduler
+			try (Scope clean = Context.root().makeCurrent();
+					CurrentTraceContext.Scope scope = currentTraceContext.newScope(traceContext)) {
+				traceContext = (OtelTraceContext) currentTraceContext.context();
+
+				then(Span.current()).isSameAs(span);
+			}
+		}
+
+		then(traceContext.spanId()).isEqualTo(span.getSpanContext().getSpanId());
+		span.end();
+	}
+
+	@Test
+	void should_collapse_wrapped_span_to_a_single_level() {
+		Span span = otelTracer.spanBuilder("foo").startSpan();
+		OtelTraceContext traceContext = new OtelTraceContext(span);
+		SpanFromSpanContext wrapper = new SpanFromSpanContext(span, span.getSpanContext(), traceContext);
+
+		for (int i = 0; i < 50; i++) {
+			wrapper = new SpanFromSpanContext(wrapper, wrapper.getSpanContext(), new OtelTraceContext(wrapper));
+		}
+
+		then(wrapper.span).isSameAs(span);
+		then(wrapper.context.get()).isSameAs(traceContext.context());
+		span.end();
+	}
+
+	@Test
+	void should_not_switch_context_when_trace_context_is_already_current() {
+		Span span = otelTracer.spanBuilder("foo").startSpan();
+		try (Scope scope = span.makeCurrent()) {
+			Context current = Context.current();
+
+			try (CurrentTraceContext.Scope newScope = currentTraceContext.newScope(currentTraceContext.context())) {
+				then(Context.current()).isSameAs(current);
+			}
+		}
+		span.end();
+	}
+
+	@Test
+	void should_merge_current_and_stored_baggage() {
+		Span span = otelTracer.spanBuilder("foo").startSpan();
+		TraceContext traceContext;
+		try (Scope scope = Context.root().with(span).with(Baggage.builder().put("old", "1").build()).makeCurrent()) {
+			traceContext = currentTraceContext.context();
+		}
+
+		try (Scope scope = Context.root().with(Baggage.builder().put("current", "2").build()).makeCurrent()) {
+			try (CurrentTraceContext.Scope newScope = currentTraceContext.newScope(traceContext)) {
+				then(Baggage.current().getEntryValue("old")).isEqualTo("1");
+				then(Baggage.current().getEntryValue("current")).isEqualTo("2");
+			}
+		}
+		span.end();
+	}
+
+	@Test
+	void should_not_switch_context_for_equal_baggage_of_another_implementation() {
+		Span span = otelTracer.spanBuilder("foo").startSpan();
+		Baggage immutable = Baggage.builder().put("key", "value").build();
+		Baggage persistent = PersistentBaggage.EMPTY.with("key", "value", BaggageEntryMetadata.empty());
+		TraceContext withImmutable;
+		TraceContext withPersistent;
+		try (Scope scope = Context.root().with(span).with(immutable).makeCurrent()) {
+			withImmutable = currentTraceContext.context();
+		}
+		try (Scope scope = Context.root().with(span).with(persistent).makeCurrent()) {
+			withPersistent = currentTraceContext.context();
+		}
+
+		try (Scope scope = Context.root().with(span).with(persistent).makeCurrent()) {
+			Context current = Context.current();
+			try (CurrentTraceContext.Scope newScope = currentTraceContext.newScope(withImmutable)) {
+				then(Context.current()).isSameAs(current);
+			}
+		}
+		try (Scope scope = Context.root().with(span).with(immutable).makeCurrent()) {
+			Context current = Context.current();
+			try (CurrentTraceContext.Scope newScope = currentTraceContext.newScope(withPersistent)) {
+				then(Context.current()).isSameAs(current);
+			}
+		}
+		span.end();
+	}
+
+	@Test
+	void should_capture_context_per_task_not_per_wrapped_executor() {
+		List<Runnable> submitted = new ArrayList<>();
+		Executor executor = currentTraceContext.wrap((Executor) submitted::add);
+		Span span = otelTracer.spanBuilder("foo").startSpan();
+		AtomicReference<Span> spanInTask = new AtomicReference<>();
+
+		try (Scope scope = span.makeCurrent()) {
+			executor.execute(() -> spanInTask.set(Span.current()));
+		}
+		submitted.get(0).run();
+
+		then(spanInTask.get()).isSameAs(span);
+		span.end();
+	}
+
+	@Test
+	void should_run_tasks_submitted_without_context_under_root_context() {
+		List<Runnable> submitted = new ArrayList<>();
+		Executor executor = currentTraceContext.wrap((Executor) submitted::add);
+		Span span = otelTracer.spanBuilder("foo").startSpan();
+		AtomicReference<Context> contextInTask = new AtomicReference<>();
+
+		try (Scope scope = Context.root().makeCurrent()) {
+			executor.execute(() -> contextInTask.set(Context.current()));
+		}
+		// a context leaked on the worker thread must not be inherited by the task
+		try (Scope leaked = span.makeCurrent()) {
+			submitted.get(0).run();
+		}
+
+		then(contextInTask.get()).isSameAs(Context.root());
+		span.end();
+	}
+
+	@Test
+	void should_propagate_context_to_virtual_threads() throws Exception {
+		Method newVirtualThreadPerTaskExecutor = ReflectionUtils.findMethod(Executors.class,
+				"newVirtualThreadPerTaskExecutor");
+		assumeTrue(newVirtualThreadPerTaskExecutor != null, "virtual threads require Java 21");
+		ExecutorService executor = currentTraceContext
+				.wrap((ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null));
+		Span span = otelTracer.spanBuilder("foo").startSpan();
+
+		try {
+			Future<Span> spanInTask;
+			try (Scope scope = span.makeCurrent()) {
+				spanInTask = executor.submit(Span::current);
+			}
+
+			then(spanInTask.get(5, TimeUnit.SECONDS)).isSameAs(span);
+		}
+		finally {
+			executor.shutdown();
+			span.end();
+		}
+	}
+
+}
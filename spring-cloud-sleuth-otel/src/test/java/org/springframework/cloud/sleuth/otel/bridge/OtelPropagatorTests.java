@@ -38,6 +38,7 @@ import org.springframework.cloud.sleuth.TraceContext;
 import org.springframework.cloud.sleuth.Tracer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class OtelPropagatorTests {
 
@@ -119,4 +120,26 @@ class OtelPropagatorTests {
 		}
 	}
 
+	@Test
+	void should_return_the_same_unmodifiable_fields() {
+		assertThat(otelPropagator.fields()).containsExactly("baggage", "traceparent", "tracestate")
+				.isSameAs(otelPropagator.fields());
+		assertThatThrownBy(() -> otelPropagator.fields().add("foo")).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void should_extract_with_alternating_getters() {
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("traceparent", "00-3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-00");
+		Map<String, String> upperCaseCarrier = new HashMap<>();
+		upperCaseCarrier.put("TRACEPARENT", "00-3e425f2373d89640bde06e8285e7bf89-9a5fdefae3abb440-00");
+
+		for (int i = 0; i < 2; i++) {
+			assertThat(otelPropagator.extract(carrier, Map::get).start().context().traceId())
+					.isEqualTo("3e425f2373d89640bde06e8285e7bf88");
+			assertThat(otelPropagator.extract(upperCaseCarrier, (c, key) -> c.get(key.toUpperCase())).start().context()
+					.traceId()).isEqualTo("3e425f2373d89640bde06e8285e7bf89");
+		}
+	}
+
 }
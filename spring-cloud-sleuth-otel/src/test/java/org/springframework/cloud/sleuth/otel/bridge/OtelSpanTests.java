@@ -0,0 +1,158 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Collections;
+import java.util.function.Function;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.sleuth.ScopedSpan;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class OtelSpanTests {
+
+	ArrayListSpanProcessor spans = new ArrayListSpanProcessor();
+
+	SdkTracerProvider sdkTracerProvider = SdkTracerProvider.builder().setSampler(Sampler.alwaysOn())
+			.addSpanProcessor(spans).build();
+
+	io.opentelemetry.api.trace.Tracer otelTracer = sdkTracerProvider.get("io.micrometer.micrometer-tracing");
+
+	OtelCurrentTraceContext otelCurrentTraceContext = new OtelCurrentTraceContext();
+
+	Tracer tracer = new OtelTracer(otelTracer, Function.identity()::apply, new OtelBaggageManager(
+			otelCurrentTraceContext, Collections.emptyList(), Collections.emptyList(), Function.identity()::apply));
+
+	@Test
+	void should_return_same_span_from_fluent_mutators() {
+		Span span = tracer.nextSpan().start();
+
+		try {
+			then(span.name("foo")).isSameAs(span);
+			then(span.tag("key", "value")).isSameAs(span);
+			then(span.event("event")).isSameAs(span);
+			then(span.error(new RuntimeException("boom"))).isSameAs(span);
+		}
+		finally {
+			span.end();
+		}
+	}
+
+	@Test
+	void should_keep_stored_context_after_fluent_mutators() {
+		Span span = tracer.nextSpan().start();
+
+		try {
+			OtelSpan tagged = (OtelSpan) span.tag("key", "value").name("foo");
+
+			then(tagged.context().context()).isSameAs(((OtelSpan) span).context().context());
+		}
+		finally {
+			span.end();
+		}
+	}
+
+	@Test
+	void should_create_trace_context_once_per_span() {
+		Span span = tracer.nextSpan().start();
+
+		try {
+			then(span.context()).isSameAs(span.context());
+		}
+		finally {
+			span.end();
+		}
+	}
+
+	@Test
+	void should_create_trace_context_once_per_scoped_span() {
+		ScopedSpan span = tracer.startScopedSpan("foo");
+
+		try {
+			then(span.context()).isSameAs(span.context());
+			then(span.context().spanId()).isEqualTo(tracer.currentSpan().context().spanId());
+		}
+		finally {
+			span.end();
+		}
+	}
+
+	@Test
+	void should_return_parent_id_without_snapshotting_the_span() {
+		Span parent = tracer.nextSpan().start();
+		Span child = tracer.nextSpan(parent).tag("key", "value").start();
+
+		try {
+			then(child.context().parentId()).isEqualTo(parent.context().spanId());
+			then(parent.context().parentId()).isEqualTo("0000000000000000");
+		}
+		finally {
+			child.end();
+			parent.end();
+		}
+	}
+
+	@Test
+	void should_return_propagation_only_span_for_unsampled_parent() {
+		SdkTracerProvider parentBasedProvider = SdkTracerProvider.builder()
+				.setSampler(Sampler.parentBased(Sampler.alwaysOn())).build();
+		Tracer parentBasedTracer = new OtelTracer(parentBasedProvider.get("io.micrometer.micrometer-tracing"),
+				Function.identity()::apply, new OtelBaggageManager(otelCurrentTraceContext, Collections.emptyList(),
+						Collections.emptyList(), Function.identity()::apply));
+		SpanContext unsampled = SpanContext.create("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331",
+				TraceFlags.getDefault(), TraceState.getDefault());
+		OtelTraceContext parent = new OtelTraceContext(Context.root(), unsampled,
+				io.opentelemetry.api.trace.Span.wrap(unsampled));
+
+		Span span = parentBasedTracer.spanBuilder().setParent(parent).name("foo").tag("key", "value").event("event")
+				.start();
+
+		then(span.isNoop()).isTrue();
+		then(span.context().traceId()).isEqualTo(unsampled.getTraceId());
+		then(span.context().spanId()).isNotEqualTo(unsampled.getSpanId());
+		then(((OtelSpan) span).context().context()).isSameAs(parent.context());
+		span.end();
+	}
+
+	@Test
+	void should_record_builder_events_within_the_span() throws InterruptedException {
+		Span.Builder builder = tracer.spanBuilder().name("foo").event("queued");
+		Thread.sleep(5);
+		builder.event("dequeued");
+
+		builder.start().end();
+
+		SpanData span = spans.takeLocalSpan();
+		then(span.getEvents()).extracting("name").containsExactly("queued", "dequeued");
+		for (EventData event : span.getEvents()) {
+			then(event.getEpochNanos()).isBetween(span.getStartEpochNanos(), span.getEndEpochNanos());
+		}
+	}
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageEntryMetadata;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PersistentBaggageTests {
+
+	private static final BaggageEntryMetadata METADATA = BaggageEntryMetadata.empty();
+
+	@Test
+	void should_add_entries_without_changing_the_parent() {
+		PersistentBaggage parent = PersistentBaggage.EMPTY.with("foo", "bar", METADATA);
+
+		PersistentBaggage child = parent.with("baz", "qux", METADATA);
+
+		then(parent.size()).isEqualTo(1);
+		then(parent.getEntryValue("baz")).isNull();
+		then(child.size()).isEqualTo(2);
+		then(child.getEntryValue("foo")).isEqualTo("bar");
+		then(child.getEntryValue("baz")).isEqualTo("qux");
+	}
+
+	@Test
+	void should_replace_and_remove_entries() {
+		PersistentBaggage baggage = PersistentBaggage.EMPTY.with("foo", "bar", METADATA);
+
+		then(baggage.with("foo", "bar", METADATA)).isSameAs(baggage);
+		then(baggage.with("foo", null, METADATA)).isSameAs(baggage);
+		then(baggage.with("foo", "baz", METADATA).getEntryValue("foo")).isEqualTo("baz");
+		then(baggage.with("foo", "baz", METADATA).size()).isEqualTo(1);
+		then(baggage.without("foo").isEmpty()).isTrue();
+		then(baggage.without("missing")).isSameAs(baggage);
+	}
+
+	@Test
+	void should_keep_keys_with_colliding_hashes_apart() {
+		// "Aa" and "BB" have the same String hash code
+		PersistentBaggage baggage = PersistentBaggage.EMPTY.with("Aa", "1", METADATA).with("BB", "2", METADATA)
+				.with("foo", "3", METADATA);
+
+		then(baggage.getEntryValue("Aa")).isEqualTo("1");
+		then(baggage.getEntryValue("BB")).isEqualTo("2");
+		then(baggage.getEntryValue("foo")).isEqualTo("3");
+
+		PersistentBaggage withoutAa = baggage.without("Aa");
+		then(withoutAa.getEntryValue("Aa")).isNull();
+		then(withoutAa.getEntryValue("BB")).isEqualTo("2");
+		then(withoutAa.size()).isEqualTo(2);
+	}
+
+	@Test
+	void should_behave_like_the_default_baggage_for_many_entries() {
+		PersistentBaggage persistent = PersistentBaggage.EMPTY;
+		Map<String, String> expected = new HashMap<>();
+		for (int i = 0; i < 500; i++) {
+			persistent = persistent.with("key" + i, "value" + i, METADATA);
+			expected.put("key" + i, "value" + i);
+		}
+		for (int i = 0; i < 500; i += 3) {
+			persistent = persistent.without("key" + i);
+			expected.remove("key" + i);
+		}
+
+		PersistentBaggage baggage = persistent;
+		Map<String, String> actual = new HashMap<>();
+		baggage.forEach((key, entry) -> actual.put(key, entry.getValue()));
+		then(actual).isEqualTo(expected);
+		then(baggage.size()).isEqualTo(expected.size());
+		then(baggage.asMap()).hasSize(expected.size());
+		expected.forEach((key, value) -> then(baggage.getEntryValue(key)).isEqualTo(value));
+	}
+
+	@Test
+	void should_convert_other_baggage_once() {
+		Baggage baggage = Baggage.builder().put("foo", "bar").put("baz", "qux").build();
+
+		PersistentBaggage persistent = PersistentBaggage.of(baggage);
+
+		then(persistent.size()).isEqualTo(2);
+		then(persistent.getEntryValue("foo")).isEqualTo("bar");
+		then(PersistentBaggage.of(persistent)).isSameAs(persistent);
+		then(persistent.withAll(persistent)).isSameAs(persistent);
+		then(persistent.toBuilder().put("a", "b").build().getEntryValue("a")).isEqualTo("b");
+	}
+
+	@Test
+	void should_merge_persistent_baggage_with_the_entries_of_the_argument_winning() {
+		PersistentBaggage stored = PersistentBaggage.EMPTY;
+		for (int i = 0; i < 200; i++) {
+			stored = stored.with("key" + i, "value" + i, METADATA);
+		}
+		PersistentBaggage current = stored.with("key7", "changed", METADATA).with("Aa", "1", METADATA).without("key9");
+		PersistentBaggage other = PersistentBaggage.EMPTY.with("BB", "2", METADATA).with("key8", "other", METADATA);
+
+		PersistentBaggage merged = stored.withAll(current).withAll(other);
+
+		Map<String, String> expected = new HashMap<>();
+		stored.forEach((key, entry) -> expected.put(key, entry.getValue()));
+		current.forEach((key, entry) -> expected.put(key, entry.getValue()));
+		other.forEach((key, entry) -> expected.put(key, entry.getValue()));
+		Map<String, String> actual = new HashMap<>();
+		merged.forEach((key, entry) -> actual.put(key, entry.getValue()));
+		then(actual).isEqualTo(expected);
+		then(merged.size()).isEqualTo(expected.size());
+		then(merged.getEntryValue("key7")).isEqualTo("changed");
+		then(merged.getEntryValue("key9")).isEqualTo("value9");
+		then(PersistentBaggage.EMPTY.withAll(current)).isSameAs(current);
+	}
+
+	@Test
+	void should_only_equal_persistent_baggage() {
+		Baggage baggage = Baggage.builder().put("foo", "bar").put("baz", "qux").build();
+		PersistentBaggage persistent = PersistentBaggage.EMPTY.with("foo", "bar", METADATA).with("baz", "qux",
+				METADATA);
+		PersistentBaggage sameEntries = PersistentBaggage.EMPTY.with("baz", "qux", METADATA).with("foo", "bar",
+				METADATA);
+
+		then(persistent).isEqualTo(sameEntries);
+		then(persistent.hashCode()).isEqualTo(sameEntries.hashCode());
+		then(persistent).isNotEqualTo(sameEntries.with("foo", "other", METADATA));
+		then(persistent).isNotEqualTo(baggage);
+		then(baggage).isNotEqualTo(persistent);
+	}
+
+}
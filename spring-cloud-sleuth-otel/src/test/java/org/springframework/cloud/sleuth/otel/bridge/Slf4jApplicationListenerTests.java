@@ -0,0 +1,138 @@
+/*
+ * Copyright 2013-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.bridge;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.TracerProvider;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextStorage;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import org.springframework.cloud.sleuth.Tracer;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class Slf4jApplicationListenerTests {
+
+	Slf4jApplicationListener listener = new Slf4jApplicationListener();
+
+	Slf4jBaggageApplicationListener baggageListener = new Slf4jBaggageApplicationListener(
+			Collections.singletonList("foo"));
+
+	ContextStorage storage = new EventPublishingContextWrapper(Arrays.asList(this.listener, this.baggageListener))
+			.apply(ContextStorage.defaultStorage());
+
+	Context parent = context("0000000000000001", "bar");
+
+	Context child = context("0000000000000002", "baz");
+
+	@AfterEach
+	void clear() {
+		MDC.clear();
+	}
+
+	@Test
+	void should_restore_mdc_of_the_parent_when_child_scope_is_closed() {
+		try (Scope parentScope = this.storage.attach(this.parent)) {
+			then(MDC.get("spanId")).isEqualTo("0000000000000001");
+			then(MDC.get("foo")).isEqualTo("bar");
+
+			try (Scope childScope = this.storage.attach(this.child)) {
+				then(MDC.get("traceId")).isEqualTo("00000000000000000000000000000001");
+				then(MDC.get("spanId")).isEqualTo("0000000000000002");
+				then(MDC.get("foo")).isEqualTo("baz");
+			}
+
+			then(MDC.get("traceId")).isEqualTo("00000000000000000000000000000001");
+			then(MDC.get("spanId")).isEqualTo("0000000000000001");
+			then(MDC.get("foo")).isEqualTo("bar");
+		}
+
+		then(MDC.getCopyOfContextMap()).isNullOrEmpty();
+	}
+
+	@Test
+	void should_leave_unrelated_mdc_entries_alone() {
+		MDC.put("other", "value");
+
+		try (Scope scope = this.storage.attach(this.parent)) {
+			then(MDC.get("other")).isEqualTo("value");
+		}
+
+		then(MDC.getCopyOfContextMap()).containsOnlyKeys("other");
+	}
+
+	@Test
+	void should_put_values_back_when_mdc_was_cleared_in_between() {
+		try (Scope parentScope = this.storage.attach(this.parent)) {
+			try (Scope childScope = this.storage.attach(context("0000000000000001", "bar"))) {
+				MDC.clear();
+			}
+
+			then(MDC.get("spanId")).isEqualTo("0000000000000001");
+			then(MDC.get("foo")).isEqualTo("bar");
+		}
+	}
+
+	@Test
+	void should_clear_mdc_when_null_span_is_put_in_scope() {
+		try (Scope parentScope = this.storage.attach(this.parent)) {
+			then(MDC.get("foo")).isEqualTo("bar");
+
+			// what scoping a null span attaches
+			try (Scope nullScope = this.storage.attach(this.parent.with(Span.getInvalid()))) {
+				then(MDC.get("foo")).isNull();
+				then(MDC.get("traceId")).isNull();
+				then(MDC.get("spanId")).isNull();
+			}
+
+			then(MDC.get("spanId")).isEqualTo("0000000000000001");
+			then(MDC.get("foo")).isEqualTo("bar");
+		}
+	}
+
+	@Test
+	void should_scope_invalid_span_for_null_span_without_publishing_events() {
+		Tracer tracer = new OtelTracer(TracerProvider.noop().get("test"), event -> {
+			throw new AssertionError("Unexpected event " + event);
+		}, new OtelBaggageManager(new OtelCurrentTraceContext(), Collections.emptyList(), Collections.emptyList(),
+				event -> {
+				}));
+
+		try (Tracer.SpanInScope nullScope = tracer.withSpan(null)) {
+			then(Span.current().getSpanContext().isValid()).isFalse();
+			then(Span.fromContextOrNull(Context.current())).isSameAs(Span.getInvalid());
+		}
+	}
+
+	private static Context context(String spanId, String baggageValue) {
+		SpanContext spanContext = SpanContext.create("00000000000000000000000000000001", spanId,
+				TraceFlags.getSampled(), TraceState.getDefault());
+		return Context.root().with(Span.wrap(spanContext)).with(Baggage.builder().put("foo", baggageValue).build());
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.sleuth.otel.log;
+
+import java.util.Collections;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
+
+import static org.assertj.core.api.BDDAssertions.entry;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class ContextLogCorrelationTests {
+
+	Context context = Context.root()
+			.with(Span.wrap(SpanContext.create("00000000000000000000000000000001", "0000000000000002",
+					TraceFlags.getSampled(), TraceState.getDefault())))
+			.with(Baggage.builder().put("foo", "bar").put("other", "baz").build());
+
+	@Test
+	void should_convert_ids_and_baggage_of_the_current_context() {
+		LoggingEvent event = new LoggingEvent();
+		BaggageConverter baggageConverter = new BaggageConverter();
+		baggageConverter.setContext(new LoggerContext());
+		baggageConverter.setOptionList(Collections.singletonList("foo"));
+		baggageConverter.start();
+
+		try (Scope scope = this.context.makeCurrent()) {
+			then(new TraceIdConverter().convert(event)).isEqualTo("00000000000000000000000000000001");
+			then(new SpanIdConverter().convert(event)).isEqualTo("0000000000000002");
+			then(baggageConverter.convert(event)).isEqualTo("bar");
+		}
+
+		then(new TraceIdConverter().convert(event)).isEmpty();
+		then(new SpanIdConverter().convert(event)).isEmpty();
+		then(baggageConverter.convert(event)).isEmpty();
+	}
+
+	@Test
+	void should_supply_context_data_only_when_installed() {
+		OtelContextDataProvider provider = new OtelContextDataProvider();
+
+		try (Scope scope = this.context.makeCurrent()) {
+			then(provider.supplyContextData()).isEmpty();
+
+			try (ContextLogCorrelation correlation = ContextLogCorrelation.install(new BaggageFields(
+					Collections.emptyList(), Collections.emptyList(), Collections.singletonList("foo")))) {
+				then(provider.supplyContextData()).containsOnly(entry("traceId", "00000000000000000000000000000001"),
+						entry("spanId", "0000000000000002"), entry("foo", "bar"));
+			}
+
+			then(provider.supplyContextData()).isEmpty();
+		}
+	}
+
+	@Test
+	void should_convert_only_correlation_fields_regardless_of_case_when_installed() {
+		LoggingEvent event = new LoggingEvent();
+		BaggageConverter fooConverter = baggageConverter("FOO");
+		BaggageConverter otherConverter = baggageConverter("other");
+
+		try (Scope scope = this.context.makeCurrent()) {
+			then(otherConverter.convert(event)).isEqualTo("baz");
+
+			try (ContextLogCorrelation correlation = ContextLogCorrelation.install(new BaggageFields(
+					Collections.emptyList(), Collections.emptyList(), Collections.singletonList("Foo")))) {
+				then(fooConverter.convert(event)).isEqualTo("bar");
+				then(otherConverter.convert(event)).isEmpty();
+			}
+		}
+	}
+
+	@Test
+	void should_keep_the_fields_of_the_last_installation() {
+		OtelContextDataProvider provider = new OtelContextDataProvider();
+		ContextLogCorrelation first = ContextLogCorrelation.install(
+				new BaggageFields(Collections.emptyList(), Collections.emptyList(), Collections.singletonList("foo")));
+		ContextLogCorrelation second = ContextLogCorrelation.install(new BaggageFields(Collections.emptyList(),
+				Collections.emptyList(), Collections.singletonList("other")));
+
+		try (Scope scope = this.context.makeCurrent()) {
+			first.close();
+
+			then(ContextLogCorrelation.isInstalled()).isTrue();
+			then(provider.supplyContextData()).containsEntry("other", "baz").doesNotContainKey("foo");
+
+			second.close();
+
+			then(ContextLogCorrelation.isInstalled()).isFalse();
+		}
+	}
+
+	private static BaggageConverter baggageConverter(String key) {
+		BaggageConverter baggageConverter = new BaggageConverter();
+		baggageConverter.setContext(new LoggerContext());
+		baggageConverter.setOptionList(Collections.singletonList(key));
+		baggageConverter.start();
+		return baggageConverter;
+	}
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.otel.propagation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.extension.trace.propagation.B3Propagator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.BDDAssertions.entry;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class B3SingleHeaderPropagatorTests {
+
+	B3SingleHeaderPropagator propagator = new B3SingleHeaderPropagator(B3Propagator.injectingSingleHeader());
+
+	@ParameterizedTest
+	@ValueSource(strings = { "3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440",
+			"3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-1",
+			"3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-0",
+			"3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-d",
+			"3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-1-6b221d5bc9e6496c", "bde06e8285e7bf88-9a5fdefae3abb440",
+			"bde06e8285e7bf88-9a5fdefae3abb440-1", "bde06e8285e7bf88-9a5fdefae3abb440-1-6b221d5bc9e6496c",
+			"3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-x",
+			"3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-1-6b221d5bc9e6496",
+			"00000000000000000000000000000000" + "-9a5fdefae3abb440-1",
+			"3e425f2373d89640bde06e8285e7bf88_9a5fdefae3abb440-1", "0", "1", "d", "" })
+	void should_extract_the_same_span_context_as_the_b3_propagator(String b3) {
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("b3", b3);
+
+		then(spanContext(
+				this.propagator.extract(Context.root(), carrier, W3CTraceparentPropagatorTests.MapGetter.INSTANCE)))
+						.isEqualTo(spanContext(B3Propagator.injectingSingleHeader().extract(Context.root(), carrier,
+								W3CTraceparentPropagatorTests.MapGetter.INSTANCE)));
+	}
+
+	@Test
+	void should_extract_multiple_headers_through_the_b3_propagator() {
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("X-B3-TraceId", "3e425f2373d89640bde06e8285e7bf88");
+		carrier.put("X-B3-SpanId", "9a5fdefae3abb440");
+		carrier.put("X-B3-Sampled", "1");
+
+		then(spanContext(
+				this.propagator.extract(Context.root(), carrier, W3CTraceparentPropagatorTests.MapGetter.INSTANCE)))
+						.isEqualTo(SpanContext.createFromRemoteParent("3e425f2373d89640bde06e8285e7bf88",
+								"9a5fdefae3abb440", TraceFlags.getSampled(), TraceState.getDefault()));
+	}
+
+	@Test
+	void should_inject_the_single_header() {
+		Map<String, String> carrier = new HashMap<>();
+		Context context = Context.root().with(Span.wrap(SpanContext.create("3e425f2373d89640bde06e8285e7bf88",
+				"9a5fdefae3abb440", TraceFlags.getSampled(), TraceState.getDefault())));
+
+		this.propagator.inject(context, carrier, Map::put);
+
+		then(carrier).containsOnly(entry("b3", "3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-1"));
+	}
+
+	private static Object spanContext(Context context) {
+		return Span.fromContext(context).getSpanContext();
+	}
+
+}
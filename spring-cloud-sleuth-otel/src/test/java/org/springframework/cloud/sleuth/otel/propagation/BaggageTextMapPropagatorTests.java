@@ -25,10 +25,12 @@ import java.util.Map;
 import io.opentelemetry.api.baggage.Baggage;
 import io.opentelemetry.api.baggage.BaggageEntry;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import org.assertj.core.api.BDDAssertions;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.cloud.sleuth.otel.bridge.BaggageFields;
 import org.springframework.cloud.sleuth.otel.bridge.OtelBaggageManager;
 import org.springframework.cloud.sleuth.otel.bridge.OtelCurrentTraceContext;
 
@@ -62,4 +64,69 @@ class BaggageTextMapPropagatorTests {
 		BDDAssertions.then(newBaggage).containsOnlyKeys("foo", "foo2", "baz");
 	}
 
+	@Test
+	void should_return_the_same_context_when_no_baggage_headers_are_present() {
+		Context parent = Context.root().with(Baggage.builder().put("foo", "bar").build());
+		BaggageTextMapPropagator baggageTextMapPropagator = propagator(Arrays.asList("foo", "foo2"));
+
+		Context extracted = baggageTextMapPropagator.extract(parent, new HashMap<>(), getter());
+
+		BDDAssertions.then(extracted).isSameAs(parent);
+	}
+
+	@Test
+	void should_extract_into_the_given_context_and_keep_its_entries() {
+		Context parent = Context.root().with(Baggage.builder().put("foo", "bar").build());
+		BaggageTextMapPropagator baggageTextMapPropagator = propagator(Arrays.asList("foo", "foo2"));
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("foo", "baz");
+		carrier.put("foo2", "bar2");
+
+		try (Scope scope = Context.root().with(Baggage.builder().put("current", "value").build()).makeCurrent()) {
+			Context extracted = baggageTextMapPropagator.extract(parent, carrier, getter());
+
+			Baggage baggage = Baggage.fromContext(extracted);
+			BDDAssertions.then(baggage.asMap()).containsOnlyKeys("foo", "foo2");
+			BDDAssertions.then(baggage.getEntryValue("foo")).isEqualTo("bar");
+			BDDAssertions.then(baggage.getEntryValue("foo2")).isEqualTo("bar2");
+		}
+	}
+
+	@Test
+	void should_drop_baggage_headers_above_the_limits() {
+		List<String> remoteFields = Arrays.asList("foo", "foo2", "foo3");
+		BaggageTextMapPropagator baggageTextMapPropagator = new BaggageTextMapPropagator(
+				new BaggageFields(remoteFields, Collections.emptyList(), Collections.emptyList()),
+				new OtelBaggageManager(new OtelCurrentTraceContext(), remoteFields, Collections.emptyList(), event -> {
+				}), new BaggageLimits(8192, 1, 5));
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("foo", "toolong");
+		carrier.put("foo2", "bar2");
+		carrier.put("foo3", "bar3");
+
+		Context extracted = baggageTextMapPropagator.extract(Context.root(), carrier, getter());
+
+		BDDAssertions.then(Baggage.fromContext(extracted).asMap()).containsOnlyKeys("foo2");
+	}
+
+	private BaggageTextMapPropagator propagator(List<String> remoteFields) {
+		return new BaggageTextMapPropagator(remoteFields,
+				new OtelBaggageManager(new OtelCurrentTraceContext(), remoteFields, Collections.emptyList(), event -> {
+				}));
+	}
+
+	private TextMapGetter<Map<String, String>> getter() {
+		return new TextMapGetter<Map<String, String>>() {
+			@Override
+			public Iterable<String> keys(Map<String, String> carrier) {
+				return carrier.keySet();
+			}
+
+			@Override
+			public String get(Map<String, String> carrier, String key) {
+				return carrier.get(key);
+			}
+		};
+	}
+
 }
@@ -16,11 +16,23 @@
 
 package org.springframework.cloud.sleuth.otel.propagation;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.contrib.awsxray.propagator.AwsXrayPropagator;
@@ -35,7 +47,9 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.support.StaticListableBeanFactory;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 class CompositeTextMapPropagatorTest {
 
@@ -54,6 +68,164 @@ class CompositeTextMapPropagatorTest {
 		assertThat(Baggage.fromContext(result)).isEqualTo(Baggage.builder().put("key", "value").build());
 	}
 
+	@Test
+	void extract_rejectsBaggageHeaderAboveTheByteLimit() {
+		MeterProvider meterProvider = mock(MeterProvider.class, Mockito.RETURNS_DEEP_STUBS);
+		LongCounter counter = meterProvider.get(anyString()).counterBuilder(anyString()).setDescription(anyString())
+				.build();
+		CompositeTextMapPropagator compositeTextMapPropagator = new CompositeTextMapPropagator(
+				new StaticListableBeanFactory(), Collections.singletonList(PropagationType.W3C),
+				new BaggageLimits(10, 180, 10, meterProvider));
+
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("baggage", "key=value,other=value");
+		Context result = compositeTextMapPropagator.extract(Context.root(), carrier, new MapGetter());
+
+		assertThat(Baggage.fromContextOrNull(result)).isNull();
+		verify(counter).add(1, Attributes.of(AttributeKey.stringKey("action"), "rejected"));
+	}
+
+	@Test
+	void extract_measuresBaggageHeaderInUtf8Bytes() {
+		CompositeTextMapPropagator compositeTextMapPropagator = new CompositeTextMapPropagator(
+				new StaticListableBeanFactory(), Collections.singletonList(PropagationType.W3C),
+				new BaggageLimits(10, 180, 10));
+
+		// 7 chars, but 12 bytes in UTF-8
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("baggage", "k=\u00e9\u00e9\u00e9\u00e9\u00e9");
+		Context result = compositeTextMapPropagator.extract(Context.root(), carrier, new MapGetter());
+
+		assertThat(Baggage.fromContextOrNull(result)).isNull();
+	}
+
+	@Test
+	void extract_dropsBaggageEntriesAboveTheEntryAndValueLimits() {
+		CompositeTextMapPropagator compositeTextMapPropagator = new CompositeTextMapPropagator(
+				new StaticListableBeanFactory(), Collections.singletonList(PropagationType.W3C),
+				new BaggageLimits(8192, 3, 5));
+
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("baggage", "a=1,b=toolong,c=3,d=4");
+		Context result = compositeTextMapPropagator.extract(Context.root(), carrier, new MapGetter());
+
+		assertThat(Baggage.fromContext(result).asMap()).containsOnlyKeys("a", "c");
+	}
+
+	@Test
+	void extract_measuresBaggageValuesInUtf8Bytes() {
+		CompositeTextMapPropagator compositeTextMapPropagator = new CompositeTextMapPropagator(
+				new StaticListableBeanFactory(), Collections.singletonList(PropagationType.W3C),
+				new BaggageLimits(8192, 180, 6));
+
+		// percent-encoded values of 3 and 4 chars, taking 6 and 8 bytes in UTF-8
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("baggage", "a=%C3%A9%C3%A9%C3%A9,b=%C3%A9%C3%A9%C3%A9%C3%A9");
+		Context result = compositeTextMapPropagator.extract(Context.root(), carrier, new MapGetter());
+
+		assertThat(Baggage.fromContext(result).asMap()).containsOnlyKeys("a");
+	}
+
+	@Test
+	void extract_appliesTheValueLimitToReceivedEntriesOnly() {
+		CompositeTextMapPropagator compositeTextMapPropagator = new CompositeTextMapPropagator(
+				new StaticListableBeanFactory(), Collections.singletonList(PropagationType.W3C),
+				new BaggageLimits(8192, 180, 5));
+		Context context = Context.root().with(Baggage.builder().put("local", "longer than the limit").build());
+
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("baggage", "a=1,b=toolong");
+		Context result = compositeTextMapPropagator.extract(context, carrier, new MapGetter());
+
+		assertThat(Baggage.fromContext(result).asMap()).containsOnlyKeys("local", "a");
+		assertThat(Baggage.fromContext(result).getEntryValue("local")).isEqualTo("longer than the limit");
+	}
+
+	@Test
+	void should_return_deduplicated_fields_of_the_configured_types_in_order() {
+		CompositeTextMapPropagator propagator = new CompositeTextMapPropagator(new StaticListableBeanFactory(),
+				Arrays.asList(PropagationType.B3, PropagationType.CUSTOM, PropagationType.W3C, PropagationType.B3));
+
+		assertThat(propagator.fields()).containsExactly("b3", "traceparent", "tracestate", "baggage");
+		assertThat(propagator.fields()).isSameAs(propagator.fields());
+	}
+
+	@Test
+	void should_register_zero_copy_propagation_types() {
+		CompositeTextMapPropagator propagator = new CompositeTextMapPropagator(new StaticListableBeanFactory(),
+				Arrays.asList(PropagationType.B3_ZERO_COPY, PropagationType.W3C_ZERO_COPY));
+
+		assertThat(propagator.fields()).containsExactly("b3", "traceparent", "tracestate", "baggage");
+	}
+
+	@Test
+	void should_inject_headers_once_when_zero_copy_types_are_combined_with_the_regular_ones() {
+		CompositeTextMapPropagator propagator = new CompositeTextMapPropagator(new StaticListableBeanFactory(),
+				Arrays.asList(PropagationType.B3, PropagationType.B3_ZERO_COPY, PropagationType.W3C_ZERO_COPY,
+						PropagationType.W3C));
+
+		List<String> injected = new ArrayList<>();
+		propagator.inject(
+				Context.root()
+						.with(Span.wrap(SpanContext.create("3e425f2373d89640bde06e8285e7bf88", "9a5fdefae3abb440",
+								TraceFlags.getSampled(), TraceState.getDefault()))),
+				injected, (carrier, key, value) -> carrier.add(key));
+
+		assertThat(injected).containsExactly("b3", "traceparent");
+	}
+
+	@Test
+	void should_delegate_zero_copy_b3_to_the_b3_propagator_bean() {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		beanFactory.addBean("b3Propagator", B3Propagator.injectingMultiHeaders());
+		CompositeTextMapPropagator propagator = new CompositeTextMapPropagator(beanFactory,
+				Collections.singletonList(PropagationType.B3_ZERO_COPY));
+
+		Map<String, String> carrier = new HashMap<>();
+		propagator.inject(Context.root().with(Span.wrap(SpanContext.create("3e425f2373d89640bde06e8285e7bf88",
+				"9a5fdefae3abb440", TraceFlags.getSampled(), TraceState.getDefault()))), carrier, Map::put);
+
+		assertThat(carrier).containsEntry("X-B3-TraceId", "3e425f2373d89640bde06e8285e7bf88").doesNotContainKey("b3");
+	}
+
+	@Test
+	void extract_keepsPrecedenceOfPresentHeadersRegardlessOfTheirCase() {
+		Map<String, String> carrier = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		carrier.put("Traceparent", "00-3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-01");
+		carrier.put("B3", "3e425f2373d89640bde06e8285e7bf89-9a5fdefae3abb440-1");
+
+		Context w3cFirst = new CompositeTextMapPropagator(new StaticListableBeanFactory(),
+				Arrays.asList(PropagationType.W3C, PropagationType.B3)).extract(Context.root(), carrier,
+						new MapGetter());
+		Context b3First = new CompositeTextMapPropagator(new StaticListableBeanFactory(),
+				Arrays.asList(PropagationType.B3, PropagationType.W3C)).extract(Context.root(), carrier,
+						new MapGetter());
+
+		assertThat(Span.fromContext(w3cFirst).getSpanContext().getTraceId())
+				.isEqualTo("3e425f2373d89640bde06e8285e7bf88");
+		assertThat(Span.fromContext(b3First).getSpanContext().getTraceId())
+				.isEqualTo("3e425f2373d89640bde06e8285e7bf89");
+	}
+
+	@Test
+	void extract_runsAllPropagatorsWhenGetterListsNoKeys() {
+		CompositeTextMapPropagator compositeTextMapPropagator = new CompositeTextMapPropagator(
+				new StaticListableBeanFactory(), Arrays.asList(PropagationType.B3, PropagationType.W3C));
+		MapGetter getter = new MapGetter() {
+			@Override
+			public Iterable<String> keys(Map<String, String> carrier) {
+				return Collections.emptyList();
+			}
+		};
+
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("traceparent", "00-3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-01");
+		Context result = compositeTextMapPropagator.extract(Context.root(), carrier, getter);
+
+		assertThat(Span.fromContext(result).getSpanContext().getTraceId())
+				.isEqualTo("3e425f2373d89640bde06e8285e7bf88");
+	}
+
 	@Test
 	void should_map_propagator_string_class_names_to_actual_classes() {
 		CompositeTextMapPropagator propagator = new CompositeTextMapPropagator(new StaticListableBeanFactory(),
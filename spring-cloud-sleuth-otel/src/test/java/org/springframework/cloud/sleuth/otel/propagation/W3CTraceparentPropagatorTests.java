@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.cloud.sleuth.otel.propagation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class W3CTraceparentPropagatorTests {
+
+	W3CTraceparentPropagator propagator = W3CTraceparentPropagator.getInstance();
+
+	@ParameterizedTest
+	@ValueSource(strings = { "00-3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-01",
+			"00-3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-00",
+			"00-3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-0b",
+			"01-3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-01-future",
+			"00-00000000000000000000000000000000-9a5fdefae3abb440-01",
+			"00-3e425f2373d89640bde06e8285e7bf88-0000000000000000-01",
+			"00-3E425F2373D89640BDE06E8285E7BF88-9a5fdefae3abb440-01",
+			"00-3e425f2373d89640bde06e8285e7bf88_9a5fdefae3abb440-01",
+			"00-3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-0x", "ff", "" })
+	void should_extract_the_same_span_context_as_the_w3c_propagator(String traceParent) {
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("traceparent", traceParent);
+
+		then(spanContext(this.propagator.extract(Context.root(), carrier, MapGetter.INSTANCE))).isEqualTo(spanContext(
+				W3CTraceContextPropagator.getInstance().extract(Context.root(), carrier, MapGetter.INSTANCE)));
+	}
+
+	@Test
+	void should_extract_trace_state_through_the_w3c_propagator() {
+		Map<String, String> carrier = new HashMap<>();
+		carrier.put("traceparent", "00-3e425f2373d89640bde06e8285e7bf88-9a5fdefae3abb440-01");
+		carrier.put("tracestate", "foo=bar");
+
+		then(Span.fromContext(this.propagator.extract(Context.root(), carrier, MapGetter.INSTANCE)).getSpanContext()
+				.getTraceState().get("foo")).isEqualTo("bar");
+	}
+
+	@Test
+	void should_return_given_context_when_there_is_no_header() {
+		Context context = Context.root();
+
+		then(this.propagator.extract(context, new HashMap<>(), MapGetter.INSTANCE)).isSameAs(context);
+	}
+
+	private static Object spanContext(Context context) {
+		return Span.fromContext(context).getSpanContext();
+	}
+
+	enum MapGetter implements TextMapGetter<Map<String, String>> {
+
+		INSTANCE;
+
+		@Override
+		public Iterable<String> keys(Map<String, String> carrier) {
+			return carrier.keySet();
+		}
+
+		@Override
+		public String get(Map<String, String> carrier, String key) {
+			return carrier.get(key);
+		}
+
+	}
+
+}